@@ -0,0 +1,202 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes tiles and {@link TilePolygon}s as a GeoJSON FeatureCollection to an
+ * {@link OutputStream}. Every tile or polygon is written as one Feature as soon as it is passed
+ * in, so the whole document never needs to be held in memory.
+ *
+ * Coordinates are written exactly, without floating point rounding artifacts, as all tile
+ * corners are multiples of 0.000125°. Tiles are written with their tile address as property
+ * "address".
+ *
+ * Usage:
+ * <pre>
+ * try (GeoJsonWriter writer = new GeoJsonWriter(outputStream)) {
+ *     for (TilePolygon polygon : TileOutline.trace(tiles)) {
+ *         writer.writePolygon(polygon);
+ *     }
+ * }
+ * </pre>
+ *
+ * @version 0.1.0
+ */
+public class GeoJsonWriter implements Closeable {
+
+    //one PINPOINT tile in millionths of a degree
+    private static final int MICRODEGREES_PER_PINPOINT = 1000000 / TileKey.PINPOINT_TILES_PER_DEGREE;
+
+    private final Writer mWriter;
+    private final char[] mNumberBuffer = new char[20];
+    private boolean mFirstFeature = true;
+    private boolean mClosed = false;
+
+    /**
+     * Creates a new GeoJsonWriter and writes the start of the FeatureCollection.
+     * @param outputStream stream to write UTF-8 encoded GeoJSON to; closed by {@link #close()}
+     * @throws IOException passed through from outputStream
+     */
+    public GeoJsonWriter(OutputStream outputStream) throws IOException {
+        mWriter = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        mWriter.write("{\"type\":\"FeatureCollection\",\"features\":[");
+    }
+
+    /**
+     * Writes a single tile as a Feature with a rectangular Polygon geometry.
+     * @param tile the tile to write
+     * @throws IOException passed through from the underlying stream
+     */
+    public void writeTile(OpenGeoTile tile) throws IOException {
+        writeTile(TileKey.of(tile));
+    }
+
+    /**
+     * Writes a single tile as a Feature with a rectangular Polygon geometry.
+     * @param key packed key of the tile to write
+     * @throws IOException passed through from the underlying stream
+     */
+    public void writeTile(long key) throws IOException {
+        int scale = TileKey.getPinpointScale(TileKey.getTileSize(key));
+        int x0 = TileKey.getLongitudeIndex(key) * scale;
+        int y0 = TileKey.getLatitudeIndex(key) * scale;
+        int x1 = x0 + scale;
+        int y1 = y0 + scale;
+
+        startFeature();
+        mWriter.write("\"properties\":{\"address\":\"");
+        mWriter.write(TileKey.toAddress(key));
+        mWriter.write("\"},\"geometry\":{\"type\":\"Polygon\",\"coordinates\":[[");
+        writePosition(x0, y0);
+        mWriter.write(',');
+        writePosition(x1, y0);
+        mWriter.write(',');
+        writePosition(x1, y1);
+        mWriter.write(',');
+        writePosition(x0, y1);
+        mWriter.write(',');
+        writePosition(x0, y0);
+        mWriter.write("]]}}");
+    }
+
+    /**
+     * Writes a polygon as a Feature with a Polygon geometry.
+     * @param polygon the polygon to write
+     * @throws IOException passed through from the underlying stream
+     */
+    public void writePolygon(TilePolygon polygon) throws IOException {
+        startFeature();
+        mWriter.write("\"properties\":{},\"geometry\":{\"type\":\"Polygon\",\"coordinates\":[");
+        for (int ring = 0; ring < polygon.getRingCount(); ring++) {
+            if (ring > 0) {
+                mWriter.write(',');
+            }
+            mWriter.write('[');
+            int vertexCount = polygon.getVertexCount(ring);
+            for (int vertex = 0; vertex <= vertexCount; vertex++) {
+                if (vertex > 0) {
+                    mWriter.write(',');
+                }
+                //GeoJSON rings are closed by repeating the first vertex
+                int v = vertex % vertexCount;
+                writePosition(polygon.getX(ring, v), polygon.getY(ring, v));
+            }
+            mWriter.write(']');
+        }
+        mWriter.write("]}}");
+    }
+
+    /**
+     * Flushes all Features written so far to the underlying stream.
+     * @throws IOException passed through from the underlying stream
+     */
+    public void flush() throws IOException {
+        mWriter.flush();
+    }
+
+    /**
+     * Writes the end of the FeatureCollection and closes the underlying stream.
+     * @throws IOException passed through from the underlying stream
+     */
+    @Override
+    public void close() throws IOException {
+        if (mClosed) {
+            return;
+        }
+        mClosed = true;
+        mWriter.write("]}");
+        mWriter.close();
+    }
+
+    private void startFeature() throws IOException {
+        if (mClosed) {
+            throw new IOException("GeoJsonWriter already closed");
+        }
+        if (!mFirstFeature) {
+            mWriter.write(',');
+        }
+        mFirstFeature = false;
+        mWriter.write("{\"type\":\"Feature\",");
+    }
+
+    //positions are [longitude, latitude]
+    private void writePosition(int x, int y) throws IOException {
+        mWriter.write('[');
+        writeDegrees((long) x * MICRODEGREES_PER_PINPOINT - 180000000L);
+        mWriter.write(',');
+        writeDegrees((long) y * MICRODEGREES_PER_PINPOINT - 90000000L);
+        mWriter.write(']');
+    }
+
+    private void writeDegrees(long microdegrees) throws IOException {
+        boolean negative = microdegrees < 0;
+        long value = Math.abs(microdegrees);
+
+        //digits are written backwards, starting with the fraction without trailing zeros
+        int position = mNumberBuffer.length;
+        long fraction = value % 1000000;
+        if (fraction != 0) {
+            int digits = 6;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            for (int i = 0; i < digits; i++) {
+                mNumberBuffer[--position] = (char) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            mNumberBuffer[--position] = '.';
+        }
+
+        long integer = value / 1000000;
+        do {
+            mNumberBuffer[--position] = (char) ('0' + integer % 10);
+            integer /= 10;
+        } while (integer != 0);
+
+        if (negative) {
+            mNumberBuffer[--position] = '-';
+        }
+        mWriter.write(mNumberBuffer, position, mNumberBuffer.length - position);
+    }
+}
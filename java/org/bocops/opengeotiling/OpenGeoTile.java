@@ -17,8 +17,6 @@ package org.bocops.opengeotiling;
 import com.google.openlocationcode.OpenLocationCode;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * A wrapper around an {@code OpenLocationCode} object, focusing on the area identified by a prefix
@@ -87,8 +85,15 @@ public class OpenGeoTile {
     private static final String PADDING_6 = "000000";
 
 
+    //created lazily for tiles created from coordinates or keys
     private OpenLocationCode mOpenLocationCode;
     private TileSize mTileSize;
+    //cached, or created lazily from mOpenLocationCode
+    private String mTileAddress;
+    //set for tiles created from coordinates, which wrap the code of exactly this location
+    private boolean mFromCoordinates = false;
+    private double mLatitude;
+    private double mLongitude;
 
 
     /**
@@ -152,7 +157,9 @@ public class OpenGeoTile {
     }
 
     /**
-     * Creates a new OpenGeoTile from lat/long coordinates.
+     * Creates a new OpenGeoTile from lat/long coordinates. Only the tile address is calculated
+     * here; the wrapped {@link com.google.openlocationcode.OpenLocationCode} is created when first
+     * needed.
      * @param latitude latitude of the location
      * @param longitude longitude of the location
      * @param tileSize tile size to use for this OpenGeoTile
@@ -161,8 +168,32 @@ public class OpenGeoTile {
      */
     public OpenGeoTile(double latitude, double longitude, TileSize tileSize)
             throws IllegalArgumentException {
+        TileMetrics.count(TileMetrics.Operation.STRING_ALLOCATION);
         mTileSize = tileSize;
-        mOpenLocationCode = new OpenLocationCode(latitude, longitude, TileSize.PINPOINT.getCodeLength());
+        mTileAddress = TileKey.toAddress(TileKey.fromCoordinates(latitude, longitude, tileSize));
+        mFromCoordinates = true;
+        mLatitude = latitude;
+        mLongitude = longitude;
+    }
+
+    /**
+     * Creates a new OpenGeoTile from a packed tile key. Like for tiles created from a tile
+     * address, the wrapped {@link com.google.openlocationcode.OpenLocationCode} is the plus code
+     * of the whole tile, created when first needed.
+     * @param tileKey a valid packed tile key, see {@link TileKey}
+     */
+    OpenGeoTile(long tileKey) {
+        TileMetrics.count(TileMetrics.Operation.STRING_ALLOCATION);
+        mTileSize = TileKey.getTileSize(tileKey);
+        mTileAddress = TileKey.toAddress(tileKey);
+    }
+
+    //a tile created from a key, wrapping the code of a location within it, created when needed
+    private OpenGeoTile(long tileKey, double latitude, double longitude) {
+        this(tileKey);
+        mFromCoordinates = true;
+        mLatitude = latitude;
+        mLongitude = longitude;
     }
 
     /**
@@ -209,16 +240,21 @@ public class OpenGeoTile {
         if (tileAddress.length() == TileSize.PINPOINT.getCodeLength()) {
             detectedTileSize = TileSize.PINPOINT;
             olcBuilder.append(tileAddress.substring(0,8));
+            TileMetrics.count(TileMetrics.Operation.STRING_ALLOCATION);
             olcBuilder.append(SEPARATOR);
             olcBuilder.append(tileAddress.substring(8,10));
+            TileMetrics.count(TileMetrics.Operation.STRING_ALLOCATION);
         }
 
         if (detectedTileSize == null) {
             throw new IllegalArgumentException("Invalid tile address");
         }
 
+        String olc = olcBuilder.toString();
+        TileMetrics.count(TileMetrics.Operation.STRING_ALLOCATION);
+        TileMetrics.count(TileMetrics.Operation.OLC_PARSE);
         mTileSize = detectedTileSize;
-        mOpenLocationCode = new OpenLocationCode(olcBuilder.toString());
+        mOpenLocationCode = new OpenLocationCode(olc);
     }
 
     /**
@@ -229,6 +265,7 @@ public class OpenGeoTile {
      *         {@link OpenLocationCode#OpenLocationCode(String)}
      */
     OpenGeoTile(String pluscode, TileSize tileSize) throws IllegalArgumentException {
+        TileMetrics.count(TileMetrics.Operation.OLC_PARSE);
         OpenLocationCode intermediate = new OpenLocationCode(pluscode);
         if (!intermediate.isFull()) {
             throw new IllegalArgumentException("Only full OLC supported. Use recover().");
@@ -240,10 +277,24 @@ public class OpenGeoTile {
     /**
      * The exact {@link com.google.openlocationcode.OpenLocationCode} wrapped by this OpenGeoTile.
      * For the plus code of the whole tile, see {@link #getTileOpenLocationCode()}.
-     * @return the exact plus code wrapped by this OpenGeoTile
+     * @return the exact plus code wrapped by this OpenGeoTile; for tiles returned by
+     * {@link TileKey#toTile(long)} or {@link OpenGeoTileCache}, the plus code of the whole tile,
+     * as for tiles created from a tile address
      */
     public OpenLocationCode getWrappedOpenLocationCode() {
-        return mOpenLocationCode;
+        //racing threads create equal, immutable codes, so there's no need to synchronize
+        OpenLocationCode olc = mOpenLocationCode;
+        if (olc == null) {
+            if (!mFromCoordinates) {
+                olc = getTileOpenLocationCode();
+            } else {
+                TileMetrics.count(TileMetrics.Operation.OLC_ENCODE);
+                olc = new OpenLocationCode(mLatitude, mLongitude,
+                        TileSize.PINPOINT.getCodeLength());
+            }
+            mOpenLocationCode = olc;
+        }
+        return olc;
     }
 
     /**
@@ -261,8 +312,23 @@ public class OpenGeoTile {
      * @return the tile address of this OpenGeoTile;
      */
     public String getTileAddress() {
-        String intermediate = mOpenLocationCode.getCode().replace(String.valueOf(SEPARATOR),"");
-        return intermediate.substring(0, mTileSize.getCodeLength());
+        String address = mTileAddress;
+        if (address == null) {
+            String code = mOpenLocationCode.getCode();
+            String separator = String.valueOf(SEPARATOR);
+            TileMetrics.count(TileMetrics.Operation.STRING_ALLOCATION);
+            String intermediate = code.replace(separator,"");
+            //count only new strings; both methods return the original if nothing changes
+            if (intermediate != code) {
+                TileMetrics.count(TileMetrics.Operation.STRING_ALLOCATION);
+            }
+            address = intermediate.substring(0, mTileSize.getCodeLength());
+            if (address != intermediate) {
+                TileMetrics.count(TileMetrics.Operation.STRING_ALLOCATION);
+            }
+            mTileAddress = address;
+        }
+        return address;
     }
 
     /**
@@ -281,12 +347,30 @@ public class OpenGeoTile {
      * may return less than 8 neighbors for tiles near the poles.
      */
     public OpenGeoTile[] getNeighbors() {
+        long start = TileMetrics.start();
+        TileMetrics.count(TileMetrics.Operation.NEIGHBOR_EXPANSION);
         final double[] deltas = {20.0, 1.0, 0.05, 0.0025, 0.000125};
         double delta = deltas[(getTileSize().getCodeLength()-2)/2];
 
-        OpenLocationCode.CodeArea codeArea = mOpenLocationCode.decode();
-        double latitude = codeArea.getCenterLatitude();
-        double longitude = codeArea.getCenterLongitude();
+        //neighbors wrap the location at the same offset from the center of the wrapped code as
+        //always, but only encode it if asked to
+        double latitude;
+        double longitude;
+        if (mFromCoordinates && mOpenLocationCode == null) {
+            //the center of the PINPOINT tile of these coordinates, without encoding them
+            long pinpoint = TileKey.fromCoordinates(mLatitude, mLongitude, TileSize.PINPOINT);
+            latitude = (TileKey.getLatitudeIndex(pinpoint) + 0.5)
+                    / TileKey.PINPOINT_TILES_PER_DEGREE - 90;
+            longitude = (TileKey.getLongitudeIndex(pinpoint) + 0.5)
+                    / TileKey.PINPOINT_TILES_PER_DEGREE - 180;
+        } else {
+            TileMetrics.count(TileMetrics.Operation.OLC_DECODE);
+            OpenLocationCode.CodeArea codeArea = getWrappedOpenLocationCode().decode();
+            latitude = codeArea.getCenterLatitude();
+            longitude = codeArea.getCenterLongitude();
+        }
+
+        long key = TileKey.fromAddress(getTileAddress());
 
         int[] latDiff = {+1,+1,+1, 0,-1,-1,-1, 0};
         int[] lngDiff = {-1, 0,+1,+1,+1, 0,-1,-1};
@@ -294,20 +378,17 @@ public class OpenGeoTile {
         ArrayList<OpenGeoTile> arNeighbors = new ArrayList<>();
 
         for (int i=0;i<8;i++) {
-            //OLC constructor clips and normalizes,
-            //so we don't have to deal with invalid lat/long values directly
-            double neighborLatitude  = latitude  + (delta * latDiff[i]);
-            double neighborLongitude = longitude + (delta * lngDiff[i]);
-
-            OpenGeoTile n = new OpenGeoTile(neighborLatitude, neighborLongitude, getTileSize());
-            if (!n.isSameTile(this)) {
-                //don't add tiles that are the same as this one due to clipping near the poles
-                arNeighbors.add(n);
+            //TileKey wraps around the antimeridian, and has no neighbors beyond the poles
+            long neighborKey = TileKey.getNeighbor(key, latDiff[i], lngDiff[i]);
+            if (neighborKey != TileKey.NO_TILE) {
+                arNeighbors.add(new OpenGeoTile(neighborKey, latitude + (delta * latDiff[i]),
+                        longitude + (delta * lngDiff[i])));
             }
         }
 
         OpenGeoTile[] neighbors = new OpenGeoTile[arNeighbors.size()];
         arNeighbors.toArray(neighbors);
+        TileMetrics.stop(TileMetrics.Call.GET_NEIGHBORS, start);
         return neighbors;
     }
 
@@ -331,6 +412,13 @@ public class OpenGeoTile {
      *         false if not
      */
     public boolean isNeighbor(OpenGeoTile potentialNeighbor) {
+        long start = TileMetrics.start();
+        boolean isNeighbor = isNeighborUntimed(potentialNeighbor);
+        TileMetrics.stop(TileMetrics.Call.IS_NEIGHBOR, start);
+        return isNeighbor;
+    }
+
+    private boolean isNeighborUntimed(OpenGeoTile potentialNeighbor) {
         if (potentialNeighbor.getTileSize() == mTileSize) {
             //avoid iterating over neighbors for same tile
             if (potentialNeighbor.isSameTile(this)) {
@@ -378,8 +466,11 @@ public class OpenGeoTile {
      * where both are the same; false if not
      */
     public boolean contains(OpenGeoTile potentialMember) {
+        long start = TileMetrics.start();
         //if A contains B, then B's address has A's address as a prefix
-        return potentialMember.getTileAddress().startsWith(getTileAddress());
+        boolean contains = potentialMember.getTileAddress().startsWith(getTileAddress());
+        TileMetrics.stop(TileMetrics.Call.CONTAINS, start);
+        return contains;
     }
 
     /**
@@ -394,8 +485,11 @@ public class OpenGeoTile {
             throw new IllegalArgumentException("Tile sizes don't match");
         }
 
-        return getLatitudinalTileDistance(otherTile, true)
+        long start = TileMetrics.start();
+        int distance = getLatitudinalTileDistance(otherTile, true)
                 + getLongitudinalTileDistance(otherTile, true);
+        TileMetrics.stop(TileMetrics.Call.MANHATTAN_DISTANCE, start);
+        return distance;
     }
 
     /**
@@ -410,8 +504,11 @@ public class OpenGeoTile {
             throw new IllegalArgumentException("Tile sizes don't match");
         }
 
-        return Math.max(getLatitudinalTileDistance(otherTile, true),
+        long start = TileMetrics.start();
+        int distance = Math.max(getLatitudinalTileDistance(otherTile, true),
                 getLongitudinalTileDistance(otherTile, true));
+        TileMetrics.stop(TileMetrics.Call.CHEBYSHEV_DISTANCE, start);
+        return distance;
     }
 
     /**
@@ -427,30 +524,23 @@ public class OpenGeoTile {
             throw new IllegalArgumentException("Tile sizes don't match");
         }
 
+        long start = TileMetrics.start();
         int xDiff = getLongitudinalTileDistance(otherTile, false);
         int yDiff = getLatitudinalTileDistance(otherTile, false);
-        return Math.atan2(yDiff, xDiff);
+        double direction = Math.atan2(yDiff, xDiff);
+        TileMetrics.stop(TileMetrics.Call.DIRECTION, start);
+        return direction;
     }
 
 
     private static int characterDistance(char c1, char c2) throws IllegalArgumentException {
-        //following definitions copied from OpenLocationCode.java
-        final char[] ALPHABET = "23456789CFGHJMPQRVWX".toCharArray();
-        final Map<Character, Integer> CHARACTER_TO_INDEX = new HashMap<>();
-        int index = 0;
-        for (char character : ALPHABET) {
-            char lowerCaseCharacter = Character.toLowerCase(character);
-            CHARACTER_TO_INDEX.put(character, index);
-            CHARACTER_TO_INDEX.put(lowerCaseCharacter, index);
-            index++;
-        }
-        //end copy from OpenLocationCode.java
-
-        if (!(CHARACTER_TO_INDEX.containsKey(c1)&&CHARACTER_TO_INDEX.containsKey(c2))) {
+        int index1 = TileKey.CODE_ALPHABET.indexOf(Character.toUpperCase(c1));
+        int index2 = TileKey.CODE_ALPHABET.indexOf(Character.toUpperCase(c2));
+        if (index1 < 0 || index2 < 0) {
             throw new IllegalArgumentException("Character does not exist in alphabet");
         }
 
-        return CHARACTER_TO_INDEX.get(c1) - CHARACTER_TO_INDEX.get(c2);
+        return index1 - index2;
     }
 
     private int getLatitudinalTileDistance(OpenGeoTile otherTile, boolean absolute)
@@ -0,0 +1,253 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of OpenGeoTile instances, so that frequently used tiles and their neighbors are
+ * shared instead of created over and over again.
+ *
+ * Tiles are cached by {@link TileKey}. The cache is split into segments, each a small LRU map
+ * with its own lock, so threads working on different tiles rarely block each other. Once a
+ * segment is full, its least recently used tile is evicted.
+ *
+ * Shared instances can be used from any thread: OpenGeoTile only ever writes its tile address and
+ * wrapped plus code lazily, and racing threads store equal immutable values, a String or an
+ * {@link com.google.openlocationcode.OpenLocationCode} whose only field is final.
+ *
+ * Cached tiles don't know the location they were requested for: like tiles created from a tile
+ * address, {@link OpenGeoTile#getWrappedOpenLocationCode()} returns the plus code of the whole
+ * tile.
+ *
+ * @version 0.1.0
+ */
+public class OpenGeoTileCache {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment[] mSegments;
+    private final int mSegmentShift;
+    private final int mMaximumSize;
+    private final LongAdder mHitCount = new LongAdder();
+    private final LongAdder mMissCount = new LongAdder();
+    private final LongAdder mEvictionCount = new LongAdder();
+
+    /**
+     * Creates a new, empty OpenGeoTileCache.
+     * @param maximumSize maximum number of tiles kept
+     * @throws IllegalArgumentException if maximumSize is not positive
+     */
+    public OpenGeoTileCache(int maximumSize) throws IllegalArgumentException {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Cache must hold at least one tile");
+        }
+
+        //at least 64 tiles per segment, so LRU order stays meaningful
+        int segments = 1;
+        while (segments < MAX_SEGMENTS && maximumSize / (2 * segments) >= 64) {
+            segments *= 2;
+        }
+        mMaximumSize = maximumSize;
+        mSegmentShift = 64 - Integer.numberOfTrailingZeros(segments);
+        mSegments = new Segment[segments];
+        for (int i = 0; i < segments; i++) {
+            //spread the remainder, so capacities add up to maximumSize
+            int capacity = maximumSize / segments + (i < maximumSize % segments ? 1 : 0);
+            mSegments[i] = new Segment(capacity);
+        }
+    }
+
+    /**
+     * Get the tile of a packed key.
+     * @param tileKey a packed tile key
+     * @return the cached tile, or a new one which is then cached
+     */
+    public OpenGeoTile get(long tileKey) {
+        Segment segment = mSegments[segmentOf(tileKey)];
+        OpenGeoTile tile;
+        boolean hit;
+        synchronized (segment) {
+            tile = segment.get(tileKey);
+            hit = tile != null;
+            if (!hit) {
+                tile = new OpenGeoTile(tileKey);
+                segment.put(tileKey, tile);
+            }
+        }
+        (hit ? mHitCount : mMissCount).increment();
+        return tile;
+    }
+
+    /**
+     * Get the tile of a tile address.
+     * @param tileAddress a tile address, see {@link OpenGeoTile#getTileAddress()}
+     * @return the cached tile, or a new one which is then cached
+     * @throws IllegalArgumentException if tileAddress is not a valid tile address
+     */
+    public OpenGeoTile get(String tileAddress) throws IllegalArgumentException {
+        return get(TileKey.fromAddress(tileAddress));
+    }
+
+    /**
+     * Get the tile containing a location.
+     * @param latitude latitude of the location
+     * @param longitude longitude of the location
+     * @param tileSize tile size to use
+     * @return the cached tile, or a new one which is then cached
+     */
+    public OpenGeoTile get(double latitude, double longitude, OpenGeoTile.TileSize tileSize) {
+        return get(TileKey.fromCoordinates(latitude, longitude, tileSize));
+    }
+
+    /**
+     * Get the neighbors of a tile, as cached tiles. Same as {@link OpenGeoTile#getNeighbors()},
+     * but neighbors are shared between all callers.
+     * @param tile the tile
+     * @return an array of the typically 8 neighboring tiles of the same size
+     */
+    public OpenGeoTile[] getNeighbors(OpenGeoTile tile) {
+        long key = TileKey.of(tile);
+
+        //same order as OpenGeoTile.getNeighbors()
+        int[] latDiff = {+1,+1,+1, 0,-1,-1,-1, 0};
+        int[] lngDiff = {-1, 0,+1,+1,+1, 0,-1,-1};
+
+        OpenGeoTile[] neighbors = new OpenGeoTile[latDiff.length];
+        int n = 0;
+        for (int i = 0; i < latDiff.length; i++) {
+            long neighborKey = TileKey.getNeighbor(key, latDiff[i], lngDiff[i]);
+            if (neighborKey != TileKey.NO_TILE) {
+                neighbors[n++] = get(neighborKey);
+            }
+        }
+        return n == neighbors.length ? neighbors : Arrays.copyOf(neighbors, n);
+    }
+
+    /**
+     * Get the maximum number of tiles kept.
+     * @return the maximum size of this cache
+     */
+    public int getMaximumSize() {
+        return mMaximumSize;
+    }
+
+    /**
+     * Get the number of tiles currently kept.
+     * @return the number of cached tiles
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : mSegments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Get the number of requests answered with a cached tile.
+     * @return the number of hits since creation or the last call of {@link #clear()}
+     */
+    public long getHitCount() {
+        return mHitCount.sum();
+    }
+
+    /**
+     * Get the number of requests that needed a new tile.
+     * @return the number of misses since creation or the last call of {@link #clear()}
+     */
+    public long getMissCount() {
+        return mMissCount.sum();
+    }
+
+    /**
+     * Get the number of tiles evicted to make room for others.
+     * @return the number of evictions since creation or the last call of {@link #clear()}
+     */
+    public long getEvictionCount() {
+        return mEvictionCount.sum();
+    }
+
+    /**
+     * Get the share of requests answered with a cached tile.
+     * @return the hit rate between 0 and 1, or 0 if there were no requests
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long requests = hits + getMissCount();
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    /**
+     * Removes all tiles, and sets all statistics back to zero.
+     */
+    public void clear() {
+        for (Segment segment : mSegments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+        mHitCount.reset();
+        mMissCount.reset();
+        mEvictionCount.reset();
+    }
+
+    private int segmentOf(long tileKey) {
+        if (mSegments.length == 1) {
+            return 0; //shifting by 64 bits would be a no-op
+        }
+        //the top bits of a multiplicative hash depend on all bits of the key
+        return (int) ((tileKey * 0x9E3779B97F4A7C15L) >>> mSegmentShift);
+    }
+
+    //a LRU map, guarded by synchronizing on the segment
+    private final class Segment {
+        private final LinkedHashMap<Long, OpenGeoTile> mTiles =
+                new LinkedHashMap<>(16, 0.75f, true);
+        private final int mCapacity;
+
+        Segment(int capacity) {
+            mCapacity = capacity;
+        }
+
+        OpenGeoTile get(long tileKey) {
+            return mTiles.get(tileKey);
+        }
+
+        void put(long tileKey, OpenGeoTile tile) {
+            mTiles.put(tileKey, tile);
+            if (mTiles.size() > mCapacity) {
+                //the first entry in access order is the least recently used one
+                Iterator<Long> eldest = mTiles.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                mEvictionCount.increment();
+            }
+        }
+
+        int size() {
+            return mTiles.size();
+        }
+
+        void clear() {
+            mTiles.clear();
+        }
+    }
+}
@@ -0,0 +1,340 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import org.bocops.opengeotiling.SpatioTemporalKey.TimeBucket;
+
+import java.util.Arrays;
+import java.util.function.BinaryOperator;
+
+/**
+ * An in-memory index of values by tile and time bucket, keeping only the most recent buckets.
+ *
+ * Every time bucket holds its own hash table of packed tile keys in primitive arrays, so storing
+ * a value creates no objects besides the occasional growth of a table. For scans, each bucket
+ * also keeps its keys sorted by {@link TileKey}, sorted again only when first scanned after new
+ * tiles were added, so a query for a tile and everything it contains is a range scan within each
+ * bucket of the requested time range.
+ * Buckets are kept in a ring of fixed size: once values for a newer bucket arrive, the oldest
+ * buckets are dropped as a whole, at constant cost per bucket, no matter how many values they
+ * hold.
+ *
+ * This class is not thread-safe.
+ *
+ * @version 0.1.0
+ * @param <V> type of the stored values
+ */
+public class SpatioTemporalIndex<V> {
+
+    /**
+     * Receives the values found by a scan.
+     * @param <V> type of the stored values
+     */
+    public interface Visitor<V> {
+        /**
+         * Called once for every value found, in order of time bucket first, and tile second.
+         * @param tileKey packed key of the tile
+         * @param startMillis start of the time bucket, in milliseconds since the epoch
+         * @param value the value stored for this tile and time bucket
+         */
+        void visit(long tileKey, long startMillis, V value);
+    }
+
+    private static final int INITIAL_BUCKET_CAPACITY = 16;
+
+    private final TimeBucket mTimeBucket;
+    private final Bucket<V>[] mBuckets;
+    private long mNewestBucket = Long.MIN_VALUE;
+    private int mSize = 0;
+
+    /**
+     * Creates a new, empty SpatioTemporalIndex.
+     * @param timeBucket the granularity of time
+     * @param windowBuckets number of most recent time buckets to keep
+     * @throws IllegalArgumentException if windowBuckets is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public SpatioTemporalIndex(TimeBucket timeBucket, int windowBuckets)
+            throws IllegalArgumentException {
+        if (windowBuckets < 1) {
+            throw new IllegalArgumentException("Window must hold at least one bucket");
+        }
+        mTimeBucket = timeBucket;
+        mBuckets = (Bucket<V>[]) new Bucket<?>[windowBuckets];
+    }
+
+    /**
+     * Get the granularity of time of this index.
+     * @return the {@link TimeBucket} of this index
+     */
+    public TimeBucket getTimeBucket() {
+        return mTimeBucket;
+    }
+
+    /**
+     * Get the number of values in this index.
+     * @return the number of distinct combinations of tile and time bucket with a value
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Stores a value for a tile and point in time, replacing any value already stored for the
+     * same tile and time bucket. If the point in time is newer than all buckets seen so far, the
+     * window moves forward and buckets falling out of it are dropped.
+     * @param tileKey packed key of the tile
+     * @param timestampMillis point in time, in milliseconds since the epoch
+     * @param value the value to store
+     * @return the value previously stored for this tile and time bucket, or null
+     * @throws IllegalArgumentException if the point in time is older than the window
+     */
+    public V put(long tileKey, long timestampMillis, V value) throws IllegalArgumentException {
+        return put(tileKey, timestampMillis, value, null);
+    }
+
+    /**
+     * Stores a value for a tile and point in time, combining it with any value already stored
+     * for the same tile and time bucket.
+     * @see #put(long, long, Object)
+     * @param tileKey packed key of the tile
+     * @param timestampMillis point in time, in milliseconds since the epoch
+     * @param value the value to store
+     * @param merge function to combine the existing value (first argument) with the new one
+     * @return the value stored now
+     * @throws IllegalArgumentException if the point in time is older than the window
+     */
+    public V merge(long tileKey, long timestampMillis, V value, BinaryOperator<V> merge)
+            throws IllegalArgumentException {
+        put(tileKey, timestampMillis, value, merge);
+        return get(tileKey, timestampMillis);
+    }
+
+    /**
+     * Get the value stored for a tile and point in time.
+     * @param tileKey packed key of the tile
+     * @param timestampMillis point in time, in milliseconds since the epoch
+     * @return the value stored for this tile and time bucket, or null
+     */
+    public V get(long tileKey, long timestampMillis) {
+        Bucket<V> bucket = getBucket(mTimeBucket.getBucket(timestampMillis));
+        return bucket == null ? null : bucket.get(tileKey);
+    }
+
+    /**
+     * Visit all values stored for a tile, or any tile it contains, within a range of time.
+     * @param tileKey packed key of the tile
+     * @param fromMillis start of the range, inclusive, in milliseconds since the epoch
+     * @param toMillis end of the range, exclusive, in milliseconds since the epoch
+     * @param visitor receives all values found
+     */
+    public void scan(long tileKey, long fromMillis, long toMillis, Visitor<? super V> visitor) {
+        long rangeEnd = TileKey.getRangeEnd(tileKey);
+        for (long b = firstBucket(fromMillis); b <= lastBucket(toMillis); b++) {
+            Bucket<V> bucket = getBucket(b);
+            if (bucket == null) {
+                continue;
+            }
+            long startMillis = mTimeBucket.getStartMillis(b);
+            long[] sorted = bucket.getSortedKeys();
+            int i = Arrays.binarySearch(sorted, tileKey);
+            for (i = i < 0 ? -i - 1 : i; i < sorted.length && sorted[i] < rangeEnd; i++) {
+                visitor.visit(sorted[i], startMillis, bucket.get(sorted[i]));
+            }
+        }
+    }
+
+    /**
+     * Visit all values stored for a tile, or any bigger tile containing it, within a range of
+     * time.
+     * @param tileKey packed key of the tile
+     * @param fromMillis start of the range, inclusive, in milliseconds since the epoch
+     * @param toMillis end of the range, exclusive, in milliseconds since the epoch
+     * @param visitor receives all values found
+     */
+    public void scanAncestors(long tileKey, long fromMillis, long toMillis,
+                              Visitor<? super V> visitor) {
+        OpenGeoTile.TileSize[] tileSizes = OpenGeoTile.TileSize.values();
+        int pairs = TileKey.getPairCount(tileKey);
+        for (long b = firstBucket(fromMillis); b <= lastBucket(toMillis); b++) {
+            Bucket<V> bucket = getBucket(b);
+            if (bucket == null) {
+                continue;
+            }
+            long startMillis = mTimeBucket.getStartMillis(b);
+            for (int p = 1; p <= pairs; p++) {
+                long ancestor = TileKey.getParent(tileKey, tileSizes[p - 1]);
+                V value = bucket.get(ancestor);
+                if (value != null) {
+                    visitor.visit(ancestor, startMillis, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the window forward to a point in time, dropping all buckets falling out of it.
+     * Nothing happens if the window already includes a newer point in time.
+     * @param timestampMillis point in time, in milliseconds since the epoch
+     * @return the number of values dropped
+     */
+    public int advanceTo(long timestampMillis) {
+        long newest = mTimeBucket.getBucket(timestampMillis);
+        if (mNewestBucket != Long.MIN_VALUE && newest <= mNewestBucket) {
+            return 0;
+        }
+
+        int dropped = 0;
+        if (mNewestBucket != Long.MIN_VALUE) {
+            //every bucket leaving the window is dropped as a whole
+            long firstKept = newest - mBuckets.length + 1;
+            long end = Math.min(firstKept, mNewestBucket + 1);
+            for (long b = mNewestBucket - mBuckets.length + 1; b < end; b++) {
+                int slot = slot(b);
+                Bucket<V> bucket = mBuckets[slot];
+                if (bucket != null && bucket.mBucket == b) {
+                    dropped += bucket.mSize;
+                    mBuckets[slot] = null;
+                }
+            }
+        }
+        mNewestBucket = newest;
+        mSize -= dropped;
+        return dropped;
+    }
+
+    private V put(long tileKey, long timestampMillis, V value, BinaryOperator<V> merge)
+            throws IllegalArgumentException {
+        long b = mTimeBucket.getBucket(timestampMillis);
+        advanceTo(timestampMillis);
+        if (b <= mNewestBucket - mBuckets.length) {
+            throw new IllegalArgumentException("Point in time is older than the window");
+        }
+
+        int slot = slot(b);
+        Bucket<V> bucket = mBuckets[slot];
+        if (bucket == null) {
+            bucket = new Bucket<>(b);
+            mBuckets[slot] = bucket;
+        }
+
+        V previous = bucket.get(tileKey);
+        if (previous == null) {
+            mSize++;
+        }
+        bucket.put(tileKey,
+                previous != null && merge != null ? merge.apply(previous, value) : value);
+        return previous;
+    }
+
+    private Bucket<V> getBucket(long b) {
+        Bucket<V> bucket = mBuckets[slot(b)];
+        return bucket != null && bucket.mBucket == b ? bucket : null;
+    }
+
+    private long firstBucket(long fromMillis) {
+        if (mNewestBucket == Long.MIN_VALUE) {
+            return 0; //empty, lastBucket() returns Long.MIN_VALUE
+        }
+        return Math.max(mTimeBucket.getBucket(fromMillis), mNewestBucket - mBuckets.length + 1);
+    }
+
+    private long lastBucket(long toMillis) {
+        return Math.min(mTimeBucket.getBucket(toMillis - 1), mNewestBucket);
+    }
+
+    private int slot(long b) {
+        return (int) Math.floorMod(b, (long) mBuckets.length);
+    }
+
+    //values of one time bucket, in an open addressing hash table of primitive keys
+    private static final class Bucket<V> {
+        final long mBucket;
+        long[] mKeys;
+        Object[] mValues;
+        int mSize;
+        //all keys in ascending order, or null if tiles were added since last sorted
+        long[] mSortedKeys;
+
+        Bucket(long bucket) {
+            mBucket = bucket;
+            allocate(INITIAL_BUCKET_CAPACITY);
+        }
+
+        private void allocate(int capacity) {
+            mKeys = new long[capacity];
+            Arrays.fill(mKeys, TileKey.NO_TILE);
+            mValues = new Object[capacity];
+            mSize = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(long key) {
+            return (V) mValues[find(key)];
+        }
+
+        void put(long key, V value) {
+            int i = find(key);
+            if (mKeys[i] == TileKey.NO_TILE) {
+                if (2 * (mSize + 1) > mKeys.length) {
+                    grow();
+                    i = find(key);
+                }
+                mKeys[i] = key;
+                mSize++;
+                mSortedKeys = null;
+            }
+            mValues[i] = value;
+        }
+
+        long[] getSortedKeys() {
+            if (mSortedKeys == null) {
+                long[] sorted = new long[mSize];
+                int n = 0;
+                for (long key : mKeys) {
+                    if (key != TileKey.NO_TILE) {
+                        sorted[n++] = key;
+                    }
+                }
+                Arrays.sort(sorted);
+                mSortedKeys = sorted;
+            }
+            return mSortedKeys;
+        }
+
+        private int find(long key) {
+            int mask = mKeys.length - 1;
+            int i = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            while (mKeys[i] != TileKey.NO_TILE && mKeys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private void grow() {
+            long[] keys = mKeys;
+            Object[] values = mValues;
+            allocate(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != TileKey.NO_TILE) {
+                    int j = find(keys[i]);
+                    mKeys[j] = keys[i];
+                    mValues[j] = values[i];
+                    mSize++;
+                }
+            }
+        }
+    }
+}
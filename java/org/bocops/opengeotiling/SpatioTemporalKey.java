@@ -0,0 +1,220 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+/**
+ * A key combining a tile with a bucket of time, e.g. "tile 8FVC9G8F during the hour starting at
+ * 2017-07-08 12:00 UTC".
+ *
+ * The key consists of two primitive values: the packed tile key (see {@link TileKey}) and a
+ * packed time key holding the bucket number and the {@link TimeBucket} granularity. Both can be
+ * stored and compared without creating SpatioTemporalKey objects.
+ *
+ * @version 0.1.0
+ */
+public final class SpatioTemporalKey implements Comparable<SpatioTemporalKey> {
+
+    public enum TimeBucket {
+        /**
+         * A bucket of one minute.*/
+        MINUTE(60L * 1000L),
+
+        /**
+         * A bucket of one hour.*/
+        HOUR(60L * 60L * 1000L),
+
+        /**
+         * A bucket of one day, starting at midnight UTC.*/
+        DAY(24L * 60L * 60L * 1000L);
+
+        private final long mDurationMillis;
+
+        TimeBucket(long durationMillis) {
+            mDurationMillis = durationMillis;
+        }
+
+        public final long getDurationMillis() {
+            return mDurationMillis;
+        }
+
+        /**
+         * Get the number of the bucket containing a point in time.
+         * @param timestampMillis milliseconds since the epoch
+         * @return the number of buckets since the epoch, negative for times before the epoch
+         */
+        public final long getBucket(long timestampMillis) {
+            return Math.floorDiv(timestampMillis, mDurationMillis);
+        }
+
+        /**
+         * Get the start of a bucket.
+         * @param bucket the number of the bucket
+         * @return the first millisecond since the epoch belonging to this bucket
+         */
+        public final long getStartMillis(long bucket) {
+            return bucket * mDurationMillis;
+        }
+    }
+
+    //the lowest bits of a time key hold the TimeBucket
+    private static final int TIME_BUCKET_BITS = 2;
+
+    private static final TimeBucket[] TIME_BUCKETS = TimeBucket.values();
+
+    private final long mTileKey;
+    private final long mTimeKey;
+
+    private SpatioTemporalKey(long tileKey, long timeKey) {
+        mTileKey = tileKey;
+        mTimeKey = timeKey;
+    }
+
+    /**
+     * Creates a new SpatioTemporalKey.
+     * @param tile the tile
+     * @param timestampMillis any point in time within the bucket, in milliseconds since the epoch
+     * @param timeBucket the granularity of time
+     */
+    public SpatioTemporalKey(OpenGeoTile tile, long timestampMillis, TimeBucket timeBucket) {
+        this(TileKey.of(tile), toTimeKey(timeBucket.getBucket(timestampMillis), timeBucket));
+    }
+
+    /**
+     * Creates a new SpatioTemporalKey from its primitive parts.
+     * @param tileKey a packed tile key
+     * @param timeKey a packed time key, as returned by {@link #toTimeKey(long, TimeBucket)}
+     * @return a new SpatioTemporalKey
+     */
+    public static SpatioTemporalKey of(long tileKey, long timeKey) {
+        return new SpatioTemporalKey(tileKey, timeKey);
+    }
+
+    /**
+     * Packs a bucket number and its granularity into a single primitive value. Time keys of the
+     * same granularity sort like their buckets.
+     * @param bucket the number of the bucket
+     * @param timeBucket the granularity of time
+     * @return the packed time key
+     */
+    public static long toTimeKey(long bucket, TimeBucket timeBucket) {
+        return (bucket << TIME_BUCKET_BITS) | timeBucket.ordinal();
+    }
+
+    /**
+     * Get the bucket number of a packed time key.
+     * @param timeKey a packed time key
+     * @return the number of the bucket
+     */
+    public static long getBucket(long timeKey) {
+        return timeKey >> TIME_BUCKET_BITS;
+    }
+
+    /**
+     * Get the granularity of a packed time key.
+     * @param timeKey a packed time key
+     * @return the {@link TimeBucket} of this time key
+     */
+    public static TimeBucket getTimeBucket(long timeKey) {
+        return TIME_BUCKETS[(int) (timeKey & ((1 << TIME_BUCKET_BITS) - 1))];
+    }
+
+    /**
+     * Get the packed key of the tile.
+     * @return the packed tile key
+     */
+    public long getTileKey() {
+        return mTileKey;
+    }
+
+    /**
+     * Get the tile.
+     * @return a new OpenGeoTile for the tile of this key
+     */
+    public OpenGeoTile getTile() {
+        return TileKey.toTile(mTileKey);
+    }
+
+    /**
+     * Get the packed time key.
+     * @return the packed time key, see {@link #toTimeKey(long, TimeBucket)}
+     */
+    public long getTimeKey() {
+        return mTimeKey;
+    }
+
+    /**
+     * Get the granularity of time.
+     * @return the {@link TimeBucket} of this key
+     */
+    public TimeBucket getTimeBucket() {
+        return getTimeBucket(mTimeKey);
+    }
+
+    /**
+     * Get the first millisecond of the time bucket.
+     * @return the start of the bucket, in milliseconds since the epoch
+     */
+    public long getStartMillis() {
+        return getTimeBucket().getStartMillis(getBucket(mTimeKey));
+    }
+
+    /**
+     * Get the end of the time bucket.
+     * @return the first millisecond after the bucket, in milliseconds since the epoch
+     */
+    public long getEndMillis() {
+        return getStartMillis() + getTimeBucket().getDurationMillis();
+    }
+
+    /**
+     * Get a key for the same time bucket and a bigger tile containing this one.
+     * @param tileSize the tile size of the parent
+     * @return a new SpatioTemporalKey for the parent tile
+     * @throws IllegalArgumentException if tileSize is smaller than the tile size of this key
+     */
+    public SpatioTemporalKey getParent(OpenGeoTile.TileSize tileSize)
+            throws IllegalArgumentException {
+        return new SpatioTemporalKey(TileKey.getParent(mTileKey, tileSize), mTimeKey);
+    }
+
+    /**
+     * Keys are ordered by tile first, so that all keys of a tile and the tiles it contains are
+     * next to each other, and by time second.
+     */
+    @Override
+    public int compareTo(SpatioTemporalKey other) {
+        int result = Long.compare(mTileKey, other.mTileKey);
+        return result != 0 ? result : Long.compare(mTimeKey, other.mTimeKey);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof SpatioTemporalKey)) {
+            return false;
+        }
+        SpatioTemporalKey other = (SpatioTemporalKey) o;
+        return mTileKey == other.mTileKey && mTimeKey == other.mTimeKey;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(mTileKey) + Long.hashCode(mTimeKey);
+    }
+
+    @Override
+    public String toString() {
+        return TileKey.toAddress(mTileKey) + "@" + getTimeBucket() + ":" + getBucket(mTimeKey);
+    }
+}
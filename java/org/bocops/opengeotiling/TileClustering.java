@@ -0,0 +1,348 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import org.bocops.opengeotiling.OpenGeoTile.TileSize;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.IntStream;
+
+/**
+ * Groups a set of tiles of the same size into clusters of adjacent tiles (connected components),
+ * using the same notion of adjacency as {@link OpenGeoTile#isNeighbor(OpenGeoTile)}, i.e.
+ * wrapping around the antimeridian but not across the poles.
+ *
+ * Tiles are handled as packed keys (see {@link TileKey}) and clustered with a union-find
+ * structure on primitive arrays. Work is split by the parent tile of each tile: tiles sharing a
+ * parent are clustered in parallel, and clusters touching across parent borders are merged
+ * afterwards.
+ *
+ * @version 0.1.0
+ */
+public final class TileClustering {
+
+    public enum Connectivity {
+        /**
+         * Tiles are connected if they share an edge.*/
+        FOUR(new int[]{0, +1}, new int[]{+1, 0}),
+
+        /**
+         * Tiles are connected if they share an edge or a corner, same as
+         * {@link OpenGeoTile#isNeighbor(OpenGeoTile)}.*/
+        EIGHT(new int[]{0, +1, +1, +1}, new int[]{+1, -1, 0, +1});
+
+        //only offsets "ahead" of a tile, so that every adjacency is visited once
+        private final int[] mLatDiff;
+        private final int[] mLngDiff;
+
+        Connectivity(int[] latDiff, int[] lngDiff) {
+            mLatDiff = latDiff;
+            mLngDiff = lngDiff;
+        }
+    }
+
+    private static final int MIN_PARTITION_DIFFERENCE = 2;
+
+    private final long[] mKeys;
+    private final int[] mClusters;
+    private final int mClusterCount;
+
+    private TileClustering(long[] keys, int[] clusters, int clusterCount) {
+        mKeys = keys;
+        mClusters = clusters;
+        mClusterCount = clusterCount;
+    }
+
+    /**
+     * Cluster a collection of tiles.
+     * @param tiles tiles of the same size; duplicates are ignored
+     * @param connectivity whether tiles touching only at their corners are connected
+     * @return the clusters of the given tiles
+     * @throws IllegalArgumentException if tiles are of different size
+     */
+    public static TileClustering cluster(Collection<OpenGeoTile> tiles, Connectivity connectivity)
+            throws IllegalArgumentException {
+        long[] keys = new long[tiles.size()];
+        int i = 0;
+        for (OpenGeoTile tile : tiles) {
+            keys[i++] = TileKey.of(tile);
+        }
+        return cluster(keys, connectivity);
+    }
+
+    /**
+     * Cluster a set of tiles, split by parent tiles two sizes bigger than the tiles themselves.
+     * @param keys packed keys of tiles of the same size; duplicates are ignored
+     * @param connectivity whether tiles touching only at their corners are connected
+     * @return the clusters of the given tiles
+     * @throws IllegalArgumentException if tiles are of different size
+     */
+    public static TileClustering cluster(long[] keys, Connectivity connectivity)
+            throws IllegalArgumentException {
+        if (keys.length == 0) {
+            return new TileClustering(new long[0], new int[0], 0);
+        }
+        TileSize tileSize = TileKey.getTileSize(keys[0]);
+        int partitionPairs = Math.max(1, TileKey.getPairCount(tileSize) - MIN_PARTITION_DIFFERENCE);
+        return cluster(keys, connectivity, TileSize.values()[partitionPairs - 1]);
+    }
+
+    /**
+     * Cluster a set of tiles.
+     * @param keys packed keys of tiles of the same size; duplicates are ignored
+     * @param connectivity whether tiles touching only at their corners are connected
+     * @param partitionSize size of the parent tiles used to split work; all tiles are handled as
+     *                      a single partition if this is not bigger than the tiles themselves
+     * @return the clusters of the given tiles
+     * @throws IllegalArgumentException if tiles are of different size
+     */
+    public static TileClustering cluster(long[] keys, Connectivity connectivity,
+                                         TileSize partitionSize)
+            throws IllegalArgumentException {
+        final long[] sorted = deduplicate(keys);
+        final int n = sorted.length;
+        if (n == 0) {
+            return new TileClustering(sorted, new int[0], 0);
+        }
+
+        final TileSize tileSize = TileKey.getTileSize(sorted[0]);
+        for (long key : sorted) {
+            if (TileKey.getTileSize(key) != tileSize) {
+                throw new IllegalArgumentException("Tile sizes don't match");
+            }
+        }
+        final boolean partitioned = TileKey.getPairCount(partitionSize)
+                < TileKey.getPairCount(tileSize);
+
+        //partition boundaries: tiles with the same parent are contiguous in sorted order
+        int[] starts = new int[n + 1];
+        int partitionCount = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || (partitioned && TileKey.getParent(sorted[i], partitionSize)
+                    != TileKey.getParent(sorted[i - 1], partitionSize))) {
+                starts[partitionCount++] = i;
+            }
+        }
+        starts[partitionCount] = n;
+        final int[] partitionStarts = Arrays.copyOf(starts, partitionCount + 1);
+
+        final int[] parent = new int[n];
+        final int[] rank = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+
+        //phase 1: union within partitions in parallel, collect edges crossing partition borders
+        final long[][] crossEdges = new long[partitionCount][];
+        final int[] crossEdgeCounts = new int[partitionCount];
+        IntStream.range(0, partitionCount).parallel().forEach(p -> {
+            int from = partitionStarts[p];
+            int to = partitionStarts[p + 1];
+            long[] edges = new long[16];
+            int edgeCount = 0;
+
+            long partitionParent = partitioned ? TileKey.getParent(sorted[from], partitionSize) : 0;
+
+            for (int i = from; i < to; i++) {
+                for (int d = 0; d < connectivity.mLatDiff.length; d++) {
+                    long neighbor = TileKey.getNeighbor(sorted[i],
+                            connectivity.mLatDiff[d], connectivity.mLngDiff[d]);
+                    if (neighbor == TileKey.NO_TILE) {
+                        continue;
+                    }
+
+                    if (!partitioned
+                            || TileKey.getParent(neighbor, partitionSize) == partitionParent) {
+                        //neighbors are usually close by in sorted order
+                        int j = gallopingSearch(sorted, from, to, i, neighbor);
+                        if (j >= 0) {
+                            union(parent, rank, i, j);
+                        }
+                        continue;
+                    }
+
+                    int j = Arrays.binarySearch(sorted, neighbor);
+                    if (j >= 0) {
+                        if (edgeCount == edges.length) {
+                            edges = Arrays.copyOf(edges, edgeCount * 2);
+                        }
+                        edges[edgeCount++] = ((long) i << 32) | j;
+                    }
+                }
+            }
+            crossEdges[p] = edges;
+            crossEdgeCounts[p] = edgeCount;
+        });
+
+        //phase 2: merge clusters across partition borders
+        for (int p = 0; p < partitionCount; p++) {
+            for (int e = 0; e < crossEdgeCounts[p]; e++) {
+                long edge = crossEdges[p][e];
+                union(parent, rank, (int) (edge >>> 32), (int) edge);
+            }
+        }
+
+        //number clusters in order of their first tile
+        int[] clusters = new int[n];
+        int[] clusterOfRoot = rank; //no longer needed for union, reuse as lookup table
+        Arrays.fill(clusterOfRoot, -1);
+        int clusterCount = 0;
+        for (int i = 0; i < n; i++) {
+            int root = find(parent, i);
+            if (clusterOfRoot[root] < 0) {
+                clusterOfRoot[root] = clusterCount++;
+            }
+            clusters[i] = clusterOfRoot[root];
+        }
+
+        return new TileClustering(sorted, clusters, clusterCount);
+    }
+
+    /**
+     * Get the number of clusters.
+     * @return the number of clusters; clusters are numbered from 0 to getClusterCount()-1
+     */
+    public int getClusterCount() {
+        return mClusterCount;
+    }
+
+    /**
+     * Get the number of distinct tiles that have been clustered.
+     * @return the number of distinct tiles
+     */
+    public int getTileCount() {
+        return mKeys.length;
+    }
+
+    /**
+     * Get the keys of all distinct tiles that have been clustered.
+     * @return a sorted array of packed tile keys; same order as {@link #getClusters()}
+     */
+    public long[] getKeys() {
+        return mKeys.clone();
+    }
+
+    /**
+     * Get the clusters of all distinct tiles that have been clustered.
+     * @return an array of cluster numbers; same order as {@link #getKeys()}
+     */
+    public int[] getClusters() {
+        return mClusters.clone();
+    }
+
+    /**
+     * Get the cluster a tile belongs to.
+     * @param key packed key of the tile
+     * @return the cluster of this tile, or -1 if the tile was not part of the clustered set
+     */
+    public int getCluster(long key) {
+        int i = Arrays.binarySearch(mKeys, key);
+        return i >= 0 ? mClusters[i] : -1;
+    }
+
+    /**
+     * Get the number of tiles in each cluster.
+     * @return an array of tile counts, indexed by cluster
+     */
+    public int[] getClusterSizes() {
+        int[] sizes = new int[mClusterCount];
+        for (int cluster : mClusters) {
+            sizes[cluster]++;
+        }
+        return sizes;
+    }
+
+    /**
+     * Get all tiles of one cluster.
+     * @param cluster the cluster, from 0 to getClusterCount()-1
+     * @return a sorted array of packed keys of all tiles in this cluster
+     */
+    public long[] getClusterKeys(int cluster) {
+        int count = 0;
+        for (int c : mClusters) {
+            if (c == cluster) {
+                count++;
+            }
+        }
+        long[] keys = new long[count];
+        int k = 0;
+        for (int i = 0; i < mKeys.length; i++) {
+            if (mClusters[i] == cluster) {
+                keys[k++] = mKeys[i];
+            }
+        }
+        return keys;
+    }
+
+    private static long[] deduplicate(long[] keys) {
+        long[] sorted = keys.clone();
+        Arrays.parallelSort(sorted);
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[n - 1]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+    }
+
+    //binary search in [from, to), starting with exponentially growing steps around start
+    private static int gallopingSearch(long[] sorted, int from, int to, int start, long key) {
+        int low;
+        int high;
+        int step = 1;
+        if (sorted[start] < key) {
+            low = start + 1;
+            while (start + step < to && sorted[start + step] < key) {
+                low = start + step + 1;
+                step <<= 1;
+            }
+            high = Math.min(start + step + 1, to);
+        } else {
+            high = start + 1;
+            while (start - step >= from && sorted[start - step] > key) {
+                high = start - step;
+                step <<= 1;
+            }
+            low = Math.max(start - step, from);
+        }
+        return Arrays.binarySearch(sorted, low, high, key);
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]]; //path halving
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int[] rank, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA == rootB) {
+            return;
+        }
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else if (rank[rootA] > rank[rootB]) {
+            parent[rootB] = rootA;
+        } else {
+            parent[rootB] = rootA;
+            rank[rootA]++;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+/**
+ * A timestamped value at a location, given either as coordinates or as a tile. Used as input of
+ * {@link TileWindowAggregator}.
+ *
+ * @version 0.1.0
+ */
+public final class TileEvent {
+
+    private final long mTileKey;
+    private final double mLatitude;
+    private final double mLongitude;
+    private final long mTimestampMillis;
+    private final double mValue;
+
+    private TileEvent(long tileKey, double latitude, double longitude, long timestampMillis,
+                      double value) {
+        mTileKey = tileKey;
+        mLatitude = latitude;
+        mLongitude = longitude;
+        mTimestampMillis = timestampMillis;
+        mValue = value;
+    }
+
+    /**
+     * Creates a new TileEvent at a location.
+     * @param latitude latitude of the location
+     * @param longitude longitude of the location
+     * @param timestampMillis time of the event, in milliseconds since the epoch
+     * @param value the value to aggregate, e.g. 1 if only counts are of interest
+     * @return a new TileEvent
+     */
+    public static TileEvent of(double latitude, double longitude, long timestampMillis,
+                               double value) {
+        return new TileEvent(TileKey.NO_TILE, latitude, longitude, timestampMillis, value);
+    }
+
+    /**
+     * Creates a new TileEvent in a tile.
+     * @param tile the tile; must not be bigger than the tiles aggregated into
+     * @param timestampMillis time of the event, in milliseconds since the epoch
+     * @param value the value to aggregate, e.g. 1 if only counts are of interest
+     * @return a new TileEvent
+     */
+    public static TileEvent of(OpenGeoTile tile, long timestampMillis, double value) {
+        return of(TileKey.of(tile), timestampMillis, value);
+    }
+
+    /**
+     * Creates a new TileEvent in a tile.
+     * @param tileKey packed key of the tile; must not be bigger than the tiles aggregated into
+     * @param timestampMillis time of the event, in milliseconds since the epoch
+     * @param value the value to aggregate, e.g. 1 if only counts are of interest
+     * @return a new TileEvent
+     */
+    public static TileEvent of(long tileKey, long timestampMillis, double value) {
+        return new TileEvent(tileKey, Double.NaN, Double.NaN, timestampMillis, value);
+    }
+
+    /**
+     * Get the time of this event.
+     * @return the time of this event, in milliseconds since the epoch
+     */
+    public long getTimestampMillis() {
+        return mTimestampMillis;
+    }
+
+    /**
+     * Get the value of this event.
+     * @return the value of this event
+     */
+    public double getValue() {
+        return mValue;
+    }
+
+    /**
+     * Get the tile of this event at a given size.
+     * @param tileSize the tile size
+     * @return packed key of the tile of the given size containing this event
+     * @throws IllegalArgumentException if this event was created from a tile bigger than tileSize
+     */
+    public long getTileKey(OpenGeoTile.TileSize tileSize) throws IllegalArgumentException {
+        if (mTileKey == TileKey.NO_TILE) {
+            return TileKey.fromCoordinates(mLatitude, mLongitude, tileSize);
+        }
+        return TileKey.getParent(mTileKey, tileSize);
+    }
+}
@@ -0,0 +1,190 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import java.io.Serializable;
+
+/**
+ * A HyperLogLog sketch estimating the number of distinct tiles added to it, using a fixed amount
+ * of memory no matter how many tiles are added.
+ *
+ * With a precision of p, the sketch uses m = 2^p registers of one byte each, and the relative
+ * standard error of {@link #estimate()} is about 1.04/sqrt(m), e.g. 1.6% for the default
+ * precision of 12 (4 KB). Small counts are estimated by linear counting, which is close to
+ * exact. Adding the same tile again never changes the sketch.
+ *
+ * If the sketch has a level, every tile is counted as its parent tile of that size, e.g. a set of
+ * PINPOINT tiles sketched at REGION level estimates the number of distinct REGION tiles covered.
+ * Sketches of the same precision and level can be merged, e.g. after sketching parts of a data
+ * set on different threads or nodes, and the result is the same as if all tiles had been added
+ * to a single sketch. This class is not thread-safe; use one sketch per thread and merge them.
+ *
+ * @version 0.1.0
+ */
+public class TileHyperLogLog implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+    public static final int DEFAULT_PRECISION = 12;
+
+    private final int mPrecision;
+    private final OpenGeoTile.TileSize mLevel;
+    private final byte[] mRegisters;
+
+    /**
+     * Creates a new, empty TileHyperLogLog of default precision, counting tiles as they are.
+     */
+    public TileHyperLogLog() {
+        this(DEFAULT_PRECISION, null);
+    }
+
+    /**
+     * Creates a new, empty TileHyperLogLog.
+     * @param precision number of index bits p, between {@link #MIN_PRECISION} and
+     *                  {@link #MAX_PRECISION}; the sketch uses 2^p bytes
+     * @param level tile size to count tiles at, or null to count tiles as they are
+     * @throws IllegalArgumentException if precision is out of range
+     */
+    public TileHyperLogLog(int precision, OpenGeoTile.TileSize level)
+            throws IllegalArgumentException {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision out of range");
+        }
+        mPrecision = precision;
+        mLevel = level;
+        mRegisters = new byte[1 << precision];
+    }
+
+    /**
+     * Get the precision of this sketch.
+     * @return the number of index bits p
+     */
+    public int getPrecision() {
+        return mPrecision;
+    }
+
+    /**
+     * Get the level of this sketch.
+     * @return the tile size tiles are counted at, or null if tiles are counted as they are
+     */
+    public OpenGeoTile.TileSize getLevel() {
+        return mLevel;
+    }
+
+    /**
+     * Get the expected relative error of estimates.
+     * @return the relative standard error, 1.04/sqrt(2^p)
+     */
+    public double getStandardError() {
+        return 1.04 / Math.sqrt(mRegisters.length);
+    }
+
+    /**
+     * Adds a tile.
+     * @param tile the tile
+     * @throws IllegalArgumentException if the tile is bigger than the level of this sketch
+     */
+    public void add(OpenGeoTile tile) throws IllegalArgumentException {
+        add(TileKey.of(tile));
+    }
+
+    /**
+     * Adds a tile.
+     * @param tileKey packed key of the tile
+     * @throws IllegalArgumentException if the tile is bigger than the level of this sketch
+     */
+    public void add(long tileKey) throws IllegalArgumentException {
+        if (mLevel != null) {
+            tileKey = TileKey.getParent(tileKey, mLevel);
+        }
+        long hash = TileKey.hash(tileKey, 0);
+        int index = (int) (hash >>> (64 - mPrecision));
+        //position of the first 1 bit after the index bits; the sentinel bit limits the result
+        long rest = (hash << mPrecision) | (1L << (mPrecision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > mRegisters[index]) {
+            mRegisters[index] = rank;
+        }
+    }
+
+    /**
+     * Adds all tiles of another sketch to this one.
+     * @param other a sketch of the same precision and level
+     * @throws IllegalArgumentException if precision or level of both sketches differ
+     */
+    public void merge(TileHyperLogLog other) throws IllegalArgumentException {
+        if (other.mPrecision != mPrecision || other.mLevel != mLevel) {
+            throw new IllegalArgumentException("Sketches don't match");
+        }
+        for (int i = 0; i < mRegisters.length; i++) {
+            if (other.mRegisters[i] > mRegisters[i]) {
+                mRegisters[i] = other.mRegisters[i];
+            }
+        }
+    }
+
+    /**
+     * Check if no tile was added to this sketch.
+     * @return true if this sketch is empty
+     */
+    public boolean isEmpty() {
+        for (byte register : mRegisters) {
+            if (register != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the number of distinct tiles added to this sketch, see
+     * {@link #getStandardError()}.
+     * @return the estimated number of distinct tiles
+     */
+    public long estimate() {
+        int m = mRegisters.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : mRegisters) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            //small range correction: linear counting
+            estimate = m * Math.log((double) m / zeros);
+        }
+        //with 64 bit hashes, no large range correction is needed
+        return Math.round(estimate);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+}
@@ -0,0 +1,413 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import org.bocops.opengeotiling.OpenGeoTile.TileSize;
+
+/**
+ * Static helpers to pack the identity of an {@link OpenGeoTile} into a single primitive
+ * {@code long}, and to do tile arithmetic directly on such packed keys.
+ *
+ * Every digit of a tile address is stored as its 5-bit index into the Open Location Code
+ * alphabet, most significant digit first, followed by 3 bits holding the number of digit pairs.
+ * As a result, sorting keys numerically sorts tiles like their addresses, a tile sorts directly
+ * before all tiles it contains, and all tiles contained in a tile form one contiguous range of
+ * keys (see {@link #getRangeEnd(long)}).
+ *
+ * Keys are only meaningful within this library and should not be persisted across versions.
+ *
+ * @version 0.1.0
+ */
+public final class TileKey {
+
+    /**
+     * Returned by methods of this class that may not find a valid tile, e.g. when asking for a
+     * neighbor beyond one of the poles. No valid key is negative.
+     */
+    public static final long NO_TILE = -1L;
+
+    // Copy from OpenLocationCode.java
+    // The character set used to encode the values.
+    static final String CODE_ALPHABET = "23456789CFGHJMPQRVWX";
+
+    // Copy from OpenLocationCode.java
+    // The base to use to convert numbers to/from.
+    static final int ENCODING_BASE = 20;
+
+    //number of tiles per axis at GLOBAL level
+    private static final int GLOBAL_LATITUDE_TILES = 9;
+    private static final int GLOBAL_LONGITUDE_TILES = 18;
+
+    private static final int MAX_PAIRS = 5;
+    private static final int MAX_DIGITS = 2 * MAX_PAIRS;
+    private static final int DIGIT_BITS = 5;
+    private static final int DIGIT_MASK = (1 << DIGIT_BITS) - 1;
+    private static final int LEVEL_BITS = 3;
+    private static final int LEVEL_MASK = (1 << LEVEL_BITS) - 1;
+
+    //number of PINPOINT tiles per degree
+    static final int PINPOINT_TILES_PER_DEGREE = 8000;
+
+    //copied from OpenLocationCode.java: the fixed-point multipliers of its 15 digit grid, the
+    //grid cells per PINPOINT tile, and the height of a 10 digit code
+    private static final double LATITUDE_INTEGER_MULTIPLIER = 2.5e7;
+    private static final double LONGITUDE_INTEGER_MULTIPLIER = 8.192e6;
+    private static final double GRID_ROWS = Math.pow(5, 5);
+    private static final double GRID_COLUMNS = Math.pow(4, 5);
+    private static final double PINPOINT_PRECISION = Math.pow(20, -3);
+
+    //powers of the encoding base, indexed by exponent
+    private static final int[] POW20 = {1, 20, 400, 8000, 160000};
+
+    //character to alphabet index; -1 for characters not in the alphabet
+    private static final int[] CHARACTER_TO_INDEX = new int['z' + 1];
+    static {
+        java.util.Arrays.fill(CHARACTER_TO_INDEX, -1);
+        for (int i = 0; i < CODE_ALPHABET.length(); i++) {
+            char c = CODE_ALPHABET.charAt(i);
+            CHARACTER_TO_INDEX[c] = i;
+            CHARACTER_TO_INDEX[Character.toLowerCase(c)] = i;
+        }
+    }
+
+    private static final TileSize[] TILE_SIZES = TileSize.values();
+
+    private TileKey() {
+    }
+
+    /**
+     * Get the key of an existing OpenGeoTile.
+     * @param tile the OpenGeoTile
+     * @return the packed key of this tile
+     */
+    public static long of(OpenGeoTile tile) {
+        return fromAddress(tile.getTileAddress());
+    }
+
+    /**
+     * Get the key of a tile address.
+     * @param tileAddress a tile address as returned by {@link OpenGeoTile#getTileAddress()}
+     * @return the packed key of this tile address
+     * @throws IllegalArgumentException if tileAddress is of invalid length, contains characters
+     * that are not part of the OLC alphabet, or describes a tile outside the valid range
+     */
+    public static long fromAddress(String tileAddress) throws IllegalArgumentException {
+        int length = tileAddress.length();
+        if (length < 2 || length > MAX_DIGITS || length % 2 != 0) {
+            throw new IllegalArgumentException("Invalid tile address");
+        }
+
+        long key = 0;
+        for (int i = 0; i < MAX_DIGITS; i++) {
+            int index = 0;
+            if (i < length) {
+                char c = tileAddress.charAt(i);
+                index = c < CHARACTER_TO_INDEX.length ? CHARACTER_TO_INDEX[c] : -1;
+                if (index < 0) {
+                    throw new IllegalArgumentException("Character does not exist in alphabet");
+                }
+            }
+            if ((i == 0 && index >= GLOBAL_LATITUDE_TILES)
+                    || (i == 1 && index >= GLOBAL_LONGITUDE_TILES)) {
+                throw new IllegalArgumentException("Invalid tile address");
+            }
+            key = (key << DIGIT_BITS) | index;
+        }
+        return (key << LEVEL_BITS) | (length / 2);
+    }
+
+    /**
+     * Get the key of the tile containing a location. This returns the same tile as
+     * {@link OpenGeoTile#OpenGeoTile(double, double, TileSize)}, but only calculates as many
+     * digits as needed for the given tile size.
+     * @param latitude latitude of the location; clipped to the valid range
+     * @param longitude longitude of the location; normalized to the valid range
+     * @param tileSize tile size to use
+     * @return the packed key of the tile containing this location
+     * @throws IllegalArgumentException if longitude is infinite
+     */
+    public static long fromCoordinates(double latitude, double longitude, TileSize tileSize)
+            throws IllegalArgumentException {
+        //same clipping, normalization and rounding as OpenLocationCode.java with a code length
+        //of 10, which is what OpenGeoTile has always used; any other order of operations rounds
+        //differently just below tile edges
+        if (Double.isInfinite(longitude)) {
+            throw new IllegalArgumentException("Longitude must be finite");
+        }
+        latitude = Math.min(90, Math.max(-90, latitude));
+        while (longitude < -180) {
+            longitude += 360;
+        }
+        while (longitude >= 180) {
+            longitude -= 360;
+        }
+        if (latitude == 90) {
+            latitude -= 0.9 * PINPOINT_PRECISION;
+        }
+
+        long latVal = (long) (Math.round((latitude + 90) * LATITUDE_INTEGER_MULTIPLIER * 1e6)
+                / 1e6);
+        long lngVal = (long) (Math.round((longitude + 180) * LONGITUDE_INTEGER_MULTIPLIER * 1e6)
+                / 1e6);
+        latVal = (long) (latVal / GRID_ROWS);
+        lngVal = (long) (lngVal / GRID_COLUMNS);
+
+        //OLC can round up to the next tile at the edges of the grid; stay within it instead
+        long latitudeTiles = (long) GLOBAL_LATITUDE_TILES * POW20[MAX_PAIRS - 1];
+        long longitudeTiles = (long) GLOBAL_LONGITUDE_TILES * POW20[MAX_PAIRS - 1];
+        latVal = Math.min(latVal, latitudeTiles - 1);
+        lngVal %= longitudeTiles;
+
+        int scale = POW20[MAX_PAIRS - getPairCount(tileSize)];
+        return fromIndices((int) (latVal / scale), (int) (lngVal / scale), tileSize);
+    }
+
+    /**
+     * Get the key of a tile from its position in the grid of all tiles of the given size.
+     * @param latitudeIndex row of the tile, counting northwards from 0 at the south pole
+     * @param longitudeIndex column of the tile, counting eastwards from 0 at the antimeridian
+     * @param tileSize tile size to use
+     * @return the packed key of this tile
+     * @throws IllegalArgumentException if either index is outside the grid
+     */
+    public static long fromIndices(int latitudeIndex, int longitudeIndex, TileSize tileSize)
+            throws IllegalArgumentException {
+        if (latitudeIndex < 0 || latitudeIndex >= getLatitudeTileCount(tileSize)
+                || longitudeIndex < 0 || longitudeIndex >= getLongitudeTileCount(tileSize)) {
+            throw new IllegalArgumentException("Tile index out of range");
+        }
+
+        int pairs = getPairCount(tileSize);
+        long key = 0;
+        for (int i = 0; i < MAX_PAIRS; i++) {
+            int latDigit = 0;
+            int lngDigit = 0;
+            if (i < pairs) {
+                int divisor = POW20[pairs - 1 - i];
+                latDigit = (latitudeIndex / divisor) % ENCODING_BASE;
+                lngDigit = (longitudeIndex / divisor) % ENCODING_BASE;
+            }
+            key = (key << (2 * DIGIT_BITS)) | (latDigit << DIGIT_BITS) | lngDigit;
+        }
+        return (key << LEVEL_BITS) | pairs;
+    }
+
+    /**
+     * Get the tile address of a key.
+     * @param key a packed tile key
+     * @return the tile address, as returned by {@link OpenGeoTile#getTileAddress()}
+     */
+    public static String toAddress(long key) {
+        int length = 2 * getPairCount(key);
+        char[] address = new char[length];
+        for (int i = 0; i < length; i++) {
+            address[i] = CODE_ALPHABET.charAt(digitAt(key, i));
+        }
+        return new String(address);
+    }
+
+    /**
+     * Create an OpenGeoTile from a key.
+     * @param key a packed tile key
+     * @return a new OpenGeoTile for this key
+     */
+    public static OpenGeoTile toTile(long key) {
+        return new OpenGeoTile(key);
+    }
+
+    /**
+     * Get the {@link TileSize} of a key.
+     * @param key a packed tile key
+     * @return the {@link TileSize} of this key
+     */
+    public static TileSize getTileSize(long key) {
+        return TILE_SIZES[getPairCount(key) - 1];
+    }
+
+    /**
+     * Get the row of a tile in the grid of all tiles of its size.
+     * @param key a packed tile key
+     * @return the row of this tile, counting northwards from 0 at the south pole
+     */
+    public static int getLatitudeIndex(long key) {
+        int pairs = getPairCount(key);
+        int index = 0;
+        for (int i = 0; i < pairs; i++) {
+            index = index * ENCODING_BASE + digitAt(key, 2 * i);
+        }
+        return index;
+    }
+
+    /**
+     * Get the column of a tile in the grid of all tiles of its size.
+     * @param key a packed tile key
+     * @return the column of this tile, counting eastwards from 0 at the antimeridian
+     */
+    public static int getLongitudeIndex(long key) {
+        int pairs = getPairCount(key);
+        int index = 0;
+        for (int i = 0; i < pairs; i++) {
+            index = index * ENCODING_BASE + digitAt(key, 2 * i + 1);
+        }
+        return index;
+    }
+
+    /**
+     * Get the number of rows in the grid of all tiles of the given size.
+     * @param tileSize the tile size
+     * @return the number of tiles between south and north pole
+     */
+    public static int getLatitudeTileCount(TileSize tileSize) {
+        return GLOBAL_LATITUDE_TILES * POW20[getPairCount(tileSize) - 1];
+    }
+
+    /**
+     * Get the number of columns in the grid of all tiles of the given size.
+     * @param tileSize the tile size
+     * @return the number of tiles around the globe
+     */
+    public static int getLongitudeTileCount(TileSize tileSize) {
+        return GLOBAL_LONGITUDE_TILES * POW20[getPairCount(tileSize) - 1];
+    }
+
+    /**
+     * Get the number of PINPOINT tiles along one side of a tile of the given size.
+     * @param tileSize the tile size
+     * @return the side length of a tile of this size, in PINPOINT tiles
+     */
+    public static int getPinpointScale(TileSize tileSize) {
+        return POW20[MAX_PAIRS - getPairCount(tileSize)];
+    }
+
+    /**
+     * Get the key of a tile of the same size at a given offset. Longitudinal offsets wrap around
+     * the antimeridian.
+     * @param key a packed tile key
+     * @param latitudeDelta number of tiles to move northwards (negative: southwards)
+     * @param longitudeDelta number of tiles to move eastwards (negative: westwards)
+     * @return the packed key of the tile at this offset, or {@link #NO_TILE} if this would cross
+     * one of the poles
+     */
+    public static long getNeighbor(long key, int latitudeDelta, int longitudeDelta) {
+        if (Math.abs(latitudeDelta) <= 1 && Math.abs(longitudeDelta) <= 1) {
+            //adjacent tiles: step the last digit of each axis and carry, no need to decode
+            long neighbor = step(key, 0, latitudeDelta);
+            return neighbor == NO_TILE ? NO_TILE : step(neighbor, 1, longitudeDelta);
+        }
+
+        TileSize tileSize = getTileSize(key);
+        int latitudeIndex = getLatitudeIndex(key) + latitudeDelta;
+        if (latitudeIndex < 0 || latitudeIndex >= getLatitudeTileCount(tileSize)) {
+            return NO_TILE;
+        }
+
+        int longitudeTiles = getLongitudeTileCount(tileSize);
+        int longitudeIndex = (getLongitudeIndex(key) + longitudeDelta) % longitudeTiles;
+        if (longitudeIndex < 0) {
+            longitudeIndex += longitudeTiles;
+        }
+        return fromIndices(latitudeIndex, longitudeIndex, tileSize);
+    }
+
+    /**
+     * Get the key of the tile of a bigger size containing the given one.
+     * @param key a packed tile key
+     * @param tileSize the tile size of the parent; may be the same as the tile size of key
+     * @return the packed key of the containing tile
+     * @throws IllegalArgumentException if tileSize is smaller than the tile size of key
+     */
+    public static long getParent(long key, TileSize tileSize) throws IllegalArgumentException {
+        int pairs = getPairCount(tileSize);
+        if (pairs > getPairCount(key)) {
+            throw new IllegalArgumentException("Parent can't be smaller than tile");
+        }
+        long digitMask = ~((1L << (LEVEL_BITS + 2 * DIGIT_BITS * (MAX_PAIRS - pairs))) - 1);
+        return (key & digitMask) | pairs;
+    }
+
+    /**
+     * Check if one tile contains another one.
+     * @param key a packed tile key
+     * @param potentialMember the packed key of the tile to check
+     * @return true if potentialMember falls within the area of key, including cases where both
+     * are the same; false if not
+     */
+    public static boolean contains(long key, long potentialMember) {
+        return potentialMember >= key && potentialMember < getRangeEnd(key);
+    }
+
+    /**
+     * Get the exclusive upper bound of all keys contained in a tile. The tile itself is the
+     * inclusive lower bound, so all tiles contained in key are in [key, getRangeEnd(key)).
+     * @param key a packed tile key
+     * @return the smallest key that sorts after key and all tiles it contains
+     */
+    public static long getRangeEnd(long key) {
+        int pairs = getPairCount(key);
+        return (key & ~((long) LEVEL_MASK))
+                + (1L << (LEVEL_BITS + 2 * DIGIT_BITS * (MAX_PAIRS - pairs)));
+    }
+
+    static int getPairCount(TileSize tileSize) {
+        return tileSize.getCodeLength() / 2;
+    }
+
+    static int getPairCount(long key) {
+        return (int) (key & LEVEL_MASK);
+    }
+
+    //add -1, 0 or +1 to the latitude (axis 0) or longitude (axis 1) index of a key
+    private static long step(long key, int axis, int delta) {
+        if (delta == 0) {
+            return key;
+        }
+
+        for (int pair = getPairCount(key) - 1; pair >= 0; pair--) {
+            int shift = LEVEL_BITS + DIGIT_BITS * (MAX_DIGITS - 1 - (2 * pair + axis));
+            int base = ENCODING_BASE;
+            if (pair == 0) {
+                base = axis == 0 ? GLOBAL_LATITUDE_TILES : GLOBAL_LONGITUDE_TILES;
+            }
+
+            int digit = ((int) (key >>> shift) & DIGIT_MASK) + delta;
+            boolean carry = digit < 0 || digit >= base;
+            if (digit < 0) {
+                digit += base;
+            } else if (digit >= base) {
+                digit -= base;
+            }
+            key = (key & ~((long) DIGIT_MASK << shift)) | ((long) digit << shift);
+            if (!carry) {
+                return key;
+            }
+        }
+
+        //carried beyond the first digit: wrap around the antimeridian, but not across the poles
+        return axis == 0 ? NO_TILE : key;
+    }
+
+    //a well mixed 64 bit hash of a key, different for every seed (SplitMix64 finalizer)
+    static long hash(long key, long seed) {
+        long h = key + seed * 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    //alphabet index of the digit at position 0..9 of the address
+    static int digitAt(long key, int position) {
+        return (int) (key >>> (LEVEL_BITS + DIGIT_BITS * (MAX_DIGITS - 1 - position))) & DIGIT_MASK;
+    }
+}
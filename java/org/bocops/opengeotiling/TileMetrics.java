@@ -0,0 +1,144 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+/**
+ * Opt-in instrumentation of OpenGeoTile, counting the internal operations triggered by each call
+ * and timing public methods.
+ *
+ * Instrumentation is switched on for the whole JVM by starting it with the system property
+ * {@code -Dorg.bocops.opengeotiling.metrics=true}, and a {@link Listener} then receives all
+ * events, e.g. a {@link TileMetricsCollector}. Without the property, all hooks check a constant
+ * that is false, so the JIT compiler removes them entirely and instrumentation costs nothing.
+ *
+ * @version 0.1.0
+ */
+public final class TileMetrics {
+
+    /**
+     * Name of the system property enabling instrumentation.*/
+    public static final String PROPERTY = "org.bocops.opengeotiling.metrics";
+
+    //read once, so the JIT compiler can treat it as a constant
+    static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    public enum Operation {
+        /**
+         * An Open Location Code computed from coordinates.*/
+        OLC_ENCODE,
+
+        /**
+         * An Open Location Code decoded into its area.*/
+        OLC_DECODE,
+
+        /**
+         * An Open Location Code parsed from a string.*/
+        OLC_PARSE,
+
+        /**
+         * A string created to hold a code or tile address.*/
+        STRING_ALLOCATION,
+
+        /**
+         * The neighbors of a tile computed.*/
+        NEIGHBOR_EXPANSION
+    }
+
+    public enum Call {
+        GET_NEIGHBORS,
+        IS_NEIGHBOR,
+        CONTAINS,
+        MANHATTAN_DISTANCE,
+        CHEBYSHEV_DISTANCE,
+        DIRECTION
+    }
+
+    /**
+     * Receives instrumentation events. Methods are called synchronously on the thread doing the
+     * work, possibly from many threads at once, so implementations must be thread-safe and fast.
+     */
+    public interface Listener {
+        /**
+         * Called once for every internal operation.
+         * @param operation the operation
+         */
+        void onOperation(Operation operation);
+
+        /**
+         * Called once for every completed call of a public method. Calls made by other
+         * instrumented methods are reported as well, e.g. {@link Call#GET_NEIGHBORS} as part of
+         * {@link Call#IS_NEIGHBOR}.
+         * @param call the method
+         * @param nanos time spent in this call, in nanoseconds
+         */
+        void onCall(Call call, long nanos);
+    }
+
+    private static volatile Listener sListener = null;
+
+    private TileMetrics() {
+    }
+
+    /**
+     * Check if instrumentation is enabled for this JVM.
+     * @return true if the system property {@value #PROPERTY} was set to true at startup
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Sets the listener receiving all instrumentation events, replacing any previous one.
+     * @param listener the new listener, or null to stop reporting events
+     * @throws IllegalStateException if instrumentation is not enabled for this JVM
+     */
+    public static void setListener(Listener listener) throws IllegalStateException {
+        if (!ENABLED) {
+            throw new IllegalStateException("Metrics not enabled, set -D" + PROPERTY + "=true");
+        }
+        sListener = listener;
+    }
+
+    /**
+     * Get the listener receiving all instrumentation events.
+     * @return the current listener, or null
+     */
+    public static Listener getListener() {
+        return sListener;
+    }
+
+    static void count(Operation operation) {
+        if (ENABLED) {
+            Listener listener = sListener;
+            if (listener != null) {
+                listener.onOperation(operation);
+            }
+        }
+    }
+
+    //0 if there's nothing to report to, so the clock is only read when needed
+    static long start() {
+        return ENABLED && sListener != null ? System.nanoTime() : 0L;
+    }
+
+    static void stop(Call call, long start) {
+        if (ENABLED && start != 0L) {
+            Listener listener = sListener;
+            if (listener != null) {
+                listener.onCall(call, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link TileMetrics.Listener} collecting operation counts and latency histograms in memory.
+ *
+ * Latencies are counted in buckets of powers of two nanoseconds, so percentiles are accurate to
+ * within a factor of two. All methods are thread-safe; updates never block.
+ *
+ * @version 0.1.0
+ */
+public class TileMetricsCollector implements TileMetrics.Listener {
+
+    //bucket b holds latencies of at least 2^(b-1) and less than 2^b nanoseconds
+    private static final int LATENCY_BUCKETS = 64;
+
+    private final LongAdder[] mOperations;
+    private final LongAdder[][] mLatencies;
+    private final LongAdder[] mTotalNanos;
+
+    /**
+     * Creates a new TileMetricsCollector with all counts at zero.
+     */
+    public TileMetricsCollector() {
+        mOperations = newAdders(TileMetrics.Operation.values().length);
+        mLatencies = new LongAdder[TileMetrics.Call.values().length][];
+        for (int i = 0; i < mLatencies.length; i++) {
+            mLatencies[i] = newAdders(LATENCY_BUCKETS);
+        }
+        mTotalNanos = newAdders(TileMetrics.Call.values().length);
+    }
+
+    @Override
+    public void onOperation(TileMetrics.Operation operation) {
+        mOperations[operation.ordinal()].increment();
+    }
+
+    @Override
+    public void onCall(TileMetrics.Call call, long nanos) {
+        nanos = Math.max(nanos, 0);
+        mLatencies[call.ordinal()][64 - Long.numberOfLeadingZeros(nanos)].increment();
+        mTotalNanos[call.ordinal()].add(nanos);
+    }
+
+    /**
+     * Get the number of times an operation took place.
+     * @param operation the operation
+     * @return the number of operations since creation or the last reset
+     */
+    public long getCount(TileMetrics.Operation operation) {
+        return mOperations[operation.ordinal()].sum();
+    }
+
+    /**
+     * Get the number of completed calls of a method.
+     * @param call the method
+     * @return the number of calls since creation or the last reset
+     */
+    public long getCount(TileMetrics.Call call) {
+        long count = 0;
+        for (LongAdder bucket : mLatencies[call.ordinal()]) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Get the average time spent in a method.
+     * @param call the method
+     * @return the average latency in nanoseconds, or 0 if there were no calls
+     */
+    public double getAverageNanos(TileMetrics.Call call) {
+        long count = getCount(call);
+        return count == 0 ? 0 : (double) mTotalNanos[call.ordinal()].sum() / count;
+    }
+
+    /**
+     * Get an upper bound for a percentile of the time spent in a method.
+     * @param call the method
+     * @param percentile the percentile, between 0 and 100
+     * @return a latency in nanoseconds, less than twice the exact percentile; or 0 if there were
+     * no calls
+     * @throws IllegalArgumentException if percentile is not between 0 and 100
+     */
+    public long getPercentileNanos(TileMetrics.Call call, double percentile)
+            throws IllegalArgumentException {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+
+        LongAdder[] buckets = mLatencies[call.ordinal()];
+        long[] counts = new long[LATENCY_BUCKETS];
+        long total = 0;
+        for (int b = 0; b < LATENCY_BUCKETS; b++) {
+            counts[b] = buckets[b].sum();
+            total += counts[b];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        int b = 0;
+        while (b < LATENCY_BUCKETS - 1 && (seen += counts[b]) < rank) {
+            b++;
+        }
+        return (1L << b) - 1; //Long.MAX_VALUE for the last bucket
+    }
+
+    /**
+     * Sets all counts back to zero. Events reported concurrently may or may not be counted.
+     */
+    public void reset() {
+        for (LongAdder adder : mOperations) {
+            adder.reset();
+        }
+        for (LongAdder[] buckets : mLatencies) {
+            for (LongAdder adder : buckets) {
+                adder.reset();
+            }
+        }
+        for (LongAdder adder : mTotalNanos) {
+            adder.reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (TileMetrics.Operation operation : TileMetrics.Operation.values()) {
+            builder.append(operation).append('=').append(getCount(operation)).append('\n');
+        }
+        for (TileMetrics.Call call : TileMetrics.Call.values()) {
+            builder.append(call)
+                    .append(" count=").append(getCount(call))
+                    .append(" avg=").append(Math.round(getAverageNanos(call))).append("ns")
+                    .append(" p50<=").append(getPercentileNanos(call, 50)).append("ns")
+                    .append(" p99<=").append(getPercentileNanos(call, 99)).append("ns")
+                    .append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static LongAdder[] newAdders(int n) {
+        LongAdder[] adders = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,170 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A MinHash sketch of a set of tiles, estimating the Jaccard similarity of two sets, i.e. the
+ * number of tiles in both divided by the number of tiles in either, using a fixed amount of
+ * memory no matter how many tiles are added.
+ *
+ * The sketch keeps the minimum of k independent hash functions over all tiles. The standard
+ * error of {@link #getJaccardSimilarity(TileMinHash)} is sqrt(J(1-J)/k) for a true similarity
+ * of J, so never more than 1/(2 sqrt(k)), e.g. 0.031 for the default of 256 hash functions
+ * (2 KB). Adding the same tile again never changes the sketch.
+ *
+ * If the sketch has a level, every tile is added as its parent tile of that size, e.g. two sets
+ * of PINPOINT tiles sketched at REGION level are compared by the REGION tiles they cover.
+ * Sketches with the same number of hash functions and level can be merged, e.g. after sketching
+ * parts of a data set on different threads or nodes, and the result is the same as if all tiles
+ * had been added to a single sketch. This class is not thread-safe; use one sketch per thread
+ * and merge them.
+ *
+ * @version 0.1.0
+ */
+public class TileMinHash implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_HASH_COUNT = 256;
+
+    private final OpenGeoTile.TileSize mLevel;
+    private final long[] mMinimums;
+
+    /**
+     * Creates a new, empty TileMinHash with the default number of hash functions, adding tiles
+     * as they are.
+     */
+    public TileMinHash() {
+        this(DEFAULT_HASH_COUNT, null);
+    }
+
+    /**
+     * Creates a new, empty TileMinHash.
+     * @param hashCount number of hash functions k; the sketch uses 8k bytes
+     * @param level tile size to add tiles at, or null to add tiles as they are
+     * @throws IllegalArgumentException if hashCount is not positive
+     */
+    public TileMinHash(int hashCount, OpenGeoTile.TileSize level)
+            throws IllegalArgumentException {
+        if (hashCount < 1) {
+            throw new IllegalArgumentException("At least one hash function needed");
+        }
+        mLevel = level;
+        mMinimums = new long[hashCount];
+        Arrays.fill(mMinimums, Long.MAX_VALUE);
+    }
+
+    /**
+     * Get the number of hash functions of this sketch.
+     * @return the number of hash functions k
+     */
+    public int getHashCount() {
+        return mMinimums.length;
+    }
+
+    /**
+     * Get the level of this sketch.
+     * @return the tile size tiles are added at, or null if tiles are added as they are
+     */
+    public OpenGeoTile.TileSize getLevel() {
+        return mLevel;
+    }
+
+    /**
+     * Get the maximum expected error of similarities.
+     * @return the largest standard error of a similarity, 1/(2 sqrt(k))
+     */
+    public double getStandardError() {
+        return 0.5 / Math.sqrt(mMinimums.length);
+    }
+
+    /**
+     * Adds a tile.
+     * @param tile the tile
+     * @throws IllegalArgumentException if the tile is bigger than the level of this sketch
+     */
+    public void add(OpenGeoTile tile) throws IllegalArgumentException {
+        add(TileKey.of(tile));
+    }
+
+    /**
+     * Adds a tile.
+     * @param tileKey packed key of the tile
+     * @throws IllegalArgumentException if the tile is bigger than the level of this sketch
+     */
+    public void add(long tileKey) throws IllegalArgumentException {
+        if (mLevel != null) {
+            tileKey = TileKey.getParent(tileKey, mLevel);
+        }
+        for (int i = 0; i < mMinimums.length; i++) {
+            //drop the sign bit, so hashes compare as unsigned values
+            long hash = TileKey.hash(tileKey, i + 1) >>> 1;
+            if (hash < mMinimums[i]) {
+                mMinimums[i] = hash;
+            }
+        }
+    }
+
+    /**
+     * Adds all tiles of another sketch to this one.
+     * @param other a sketch with the same number of hash functions and level
+     * @throws IllegalArgumentException if number of hash functions or level of both sketches
+     * differ
+     */
+    public void merge(TileMinHash other) throws IllegalArgumentException {
+        checkMatch(other);
+        for (int i = 0; i < mMinimums.length; i++) {
+            mMinimums[i] = Math.min(mMinimums[i], other.mMinimums[i]);
+        }
+    }
+
+    /**
+     * Check if no tile was added to this sketch.
+     * @return true if this sketch is empty
+     */
+    public boolean isEmpty() {
+        //every added tile lowers all minimums below Long.MAX_VALUE
+        return mMinimums[0] == Long.MAX_VALUE;
+    }
+
+    /**
+     * Estimates the Jaccard similarity of the tiles added to this and another sketch, see
+     * {@link #getStandardError()}.
+     * @param other a sketch with the same number of hash functions and level
+     * @return the estimated similarity, between 0 (disjoint) and 1 (same tiles); 1 if both
+     * sketches are empty, 0 if only one is
+     * @throws IllegalArgumentException if number of hash functions or level of both sketches
+     * differ
+     */
+    public double getJaccardSimilarity(TileMinHash other) throws IllegalArgumentException {
+        checkMatch(other);
+        int matches = 0;
+        for (int i = 0; i < mMinimums.length; i++) {
+            if (mMinimums[i] == other.mMinimums[i]) {
+                matches++;
+            }
+        }
+        return (double) matches / mMinimums.length;
+    }
+
+    private void checkMatch(TileMinHash other) throws IllegalArgumentException {
+        if (other.mMinimums.length != mMinimums.length || other.mLevel != mLevel) {
+            throw new IllegalArgumentException("Sketches don't match");
+        }
+    }
+}
@@ -0,0 +1,397 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Traces the outline of a set of tiles, which may be of different {@link OpenGeoTile.TileSize}.
+ *
+ * The result is the smallest set of rectilinear polygons covering exactly the area of all
+ * tiles, with holes where the set encloses areas not covered by any tile. Tiles that only touch
+ * at their corners end up in separate polygons. No ring passes through the same vertex twice:
+ * an uncovered area meeting the outside only at a corner becomes a hole touching the exterior
+ * ring at that corner, so all polygons are valid OGC Simple Features and GeoJSON polygons.
+ * Polygons are never continued across the antimeridian, but split there instead, as recommended
+ * for GeoJSON.
+ *
+ * @version 0.1.0
+ */
+public final class TileOutline {
+
+    //directions of edges, counterclockwise
+    private static final int EAST = 0;
+    private static final int NORTH = 1;
+    private static final int WEST = 2;
+    private static final int SOUTH = 3;
+
+    //bit layout of sweep events: line, position on line, and whether coverage increases
+    private static final int EVENT_POSITION_BITS = 23;
+
+    private TileOutline() {
+    }
+
+    /**
+     * Trace the outline of a collection of tiles.
+     * @param tiles tiles of any size; duplicates and tiles contained in others are ignored
+     * @return a list of polygons covering the area of all tiles
+     */
+    public static List<TilePolygon> trace(Collection<OpenGeoTile> tiles) {
+        long[] keys = new long[tiles.size()];
+        int i = 0;
+        for (OpenGeoTile tile : tiles) {
+            keys[i++] = TileKey.of(tile);
+        }
+        return trace(keys);
+    }
+
+    /**
+     * Trace the outline of a set of tiles.
+     * @param keys packed keys of tiles of any size; duplicates and tiles contained in others are
+     *             ignored
+     * @return a list of polygons covering the area of all tiles
+     */
+    public static List<TilePolygon> trace(long[] keys) {
+        long[] tiles = removeContained(keys);
+        int n = tiles.length;
+
+        //every tile contributes two events to horizontal and two to vertical lines per edge
+        long[] horizontalEvents = new long[4 * n];
+        long[] verticalEvents = new long[4 * n];
+        for (int i = 0; i < n; i++) {
+            int scale = TileKey.getPinpointScale(TileKey.getTileSize(tiles[i]));
+            int x0 = TileKey.getLongitudeIndex(tiles[i]) * scale;
+            int y0 = TileKey.getLatitudeIndex(tiles[i]) * scale;
+            int x1 = x0 + scale;
+            int y1 = y0 + scale;
+
+            //bottom edge points east (+1), top edge points west (-1)
+            horizontalEvents[4 * i] = event(y0, x0, +1);
+            horizontalEvents[4 * i + 1] = event(y0, x1, -1);
+            horizontalEvents[4 * i + 2] = event(y1, x0, -1);
+            horizontalEvents[4 * i + 3] = event(y1, x1, +1);
+
+            //right edge points north (+1), left edge points south (-1)
+            verticalEvents[4 * i] = event(x1, y0, +1);
+            verticalEvents[4 * i + 1] = event(x1, y1, -1);
+            verticalEvents[4 * i + 2] = event(x0, y0, -1);
+            verticalEvents[4 * i + 3] = event(x0, y1, +1);
+        }
+
+        Edges edges = new Edges(n);
+        sweep(horizontalEvents, false, edges);
+        sweep(verticalEvents, true, edges);
+
+        List<int[]> exteriors = new ArrayList<>();
+        List<int[]> holes = new ArrayList<>();
+        for (int[] ring : edges.link()) {
+            if (signedArea(ring) > 0) {
+                exteriors.add(ring);
+            } else {
+                holes.add(ring);
+            }
+        }
+
+        return assignHoles(exteriors, holes);
+    }
+
+    private static long[] removeContained(long[] keys) {
+        //containing tiles sort directly before all tiles they contain
+        long[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        int n = 0;
+        for (long key : sorted) {
+            if (n == 0 || !TileKey.contains(sorted[n - 1], key)) {
+                sorted[n++] = key;
+            }
+        }
+        return Arrays.copyOf(sorted, n);
+    }
+
+    private static long event(int line, int position, int delta) {
+        return ((long) line << (EVENT_POSITION_BITS + 1)) | ((long) position << 1)
+                | (delta > 0 ? 1 : 0);
+    }
+
+    //sum up the coverage along each line; wherever it is not zero, there is an edge
+    private static void sweep(long[] events, boolean vertical, Edges edges) {
+        Arrays.sort(events);
+        int i = 0;
+        while (i < events.length) {
+            int line = (int) (events[i] >>> (EVENT_POSITION_BITS + 1));
+            int coverage = 0;
+            int runStart = 0;
+            while (i < events.length && (int) (events[i] >>> (EVENT_POSITION_BITS + 1)) == line) {
+                int position = (int) (events[i] >>> 1) & ((1 << EVENT_POSITION_BITS) - 1);
+                int before = coverage;
+                while (i < events.length
+                        && (int) (events[i] >>> (EVENT_POSITION_BITS + 1)) == line
+                        && ((int) (events[i] >>> 1) & ((1 << EVENT_POSITION_BITS) - 1))
+                        == position) {
+                    coverage += (events[i] & 1) != 0 ? 1 : -1;
+                    i++;
+                }
+
+                if (coverage != before) {
+                    if (before != 0) {
+                        edges.add(vertical, line, runStart, position, before > 0);
+                    }
+                    runStart = position;
+                }
+            }
+        }
+    }
+
+    private static long signedArea(int[] ring) {
+        long area = 0;
+        int n = ring.length / 2;
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            area += (long) ring[2 * i] * ring[2 * j + 1] - (long) ring[2 * j] * ring[2 * i + 1];
+        }
+        return area;
+    }
+
+    private static List<TilePolygon> assignHoles(List<int[]> exteriors, List<int[]> holes) {
+        List<List<int[]>> polygons = new ArrayList<>();
+        int[][] bounds = new int[exteriors.size()][];
+        long[] areas = new long[exteriors.size()];
+        for (int e = 0; e < exteriors.size(); e++) {
+            List<int[]> rings = new ArrayList<>();
+            rings.add(exteriors.get(e));
+            polygons.add(rings);
+            bounds[e] = bounds(exteriors.get(e));
+            areas[e] = signedArea(exteriors.get(e));
+        }
+
+        for (int[] hole : holes) {
+            //a point a quarter tile to the left of the first edge is covered by the enclosing
+            //polygon and can't lie on any edge; use coordinates multiplied by 4 to stay on integers
+            int dx = Integer.signum(hole[2] - hole[0]);
+            int dy = Integer.signum(hole[3] - hole[1]);
+            long px = 4L * hole[0] + 2 * dx - dy;
+            long py = 4L * hole[1] + 2 * dy + dx;
+
+            int best = -1;
+            for (int e = 0; e < exteriors.size(); e++) {
+                if (px < 4L * bounds[e][0] || px > 4L * bounds[e][2]
+                        || py < 4L * bounds[e][1] || py > 4L * bounds[e][3]) {
+                    continue;
+                }
+                if ((best < 0 || areas[e] < areas[best]) && contains(exteriors.get(e), px, py)) {
+                    best = e;
+                }
+            }
+            if (best >= 0) {
+                polygons.get(best).add(hole);
+            }
+        }
+
+        List<TilePolygon> result = new ArrayList<>(polygons.size());
+        for (List<int[]> rings : polygons) {
+            result.add(new TilePolygon(rings));
+        }
+        return result;
+    }
+
+    private static int[] bounds(int[] ring) {
+        int[] bounds = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE};
+        for (int i = 0; i < ring.length; i += 2) {
+            bounds[0] = Math.min(bounds[0], ring[i]);
+            bounds[1] = Math.min(bounds[1], ring[i + 1]);
+            bounds[2] = Math.max(bounds[2], ring[i]);
+            bounds[3] = Math.max(bounds[3], ring[i + 1]);
+        }
+        return bounds;
+    }
+
+    //ray casting towards east, for a point given in coordinates multiplied by 4
+    private static boolean contains(int[] ring, long px, long py) {
+        boolean inside = false;
+        int n = ring.length / 2;
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            if (ring[2 * i] != ring[2 * j]) {
+                continue; //horizontal edges can't be crossed by a horizontal ray
+            }
+            long x = 4L * ring[2 * i];
+            long y0 = 4L * Math.min(ring[2 * i + 1], ring[2 * j + 1]);
+            long y1 = 4L * Math.max(ring[2 * i + 1], ring[2 * j + 1]);
+            if (x > px && py > y0 && py < y1) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    //directed boundary edges, linked into rings by their end points
+    private static final class Edges {
+        private int[] mStartX;
+        private int[] mStartY;
+        private int[] mEndX;
+        private int[] mEndY;
+        private int mCount;
+
+        Edges(int capacity) {
+            capacity = Math.max(capacity, 4);
+            mStartX = new int[capacity];
+            mStartY = new int[capacity];
+            mEndX = new int[capacity];
+            mEndY = new int[capacity];
+        }
+
+        void add(boolean vertical, int line, int from, int to, boolean positive) {
+            if (mCount == mStartX.length) {
+                int capacity = mCount * 2;
+                mStartX = Arrays.copyOf(mStartX, capacity);
+                mStartY = Arrays.copyOf(mStartY, capacity);
+                mEndX = Arrays.copyOf(mEndX, capacity);
+                mEndY = Arrays.copyOf(mEndY, capacity);
+            }
+            int start = positive ? from : to;
+            int end = positive ? to : from;
+            mStartX[mCount] = vertical ? line : start;
+            mStartY[mCount] = vertical ? start : line;
+            mEndX[mCount] = vertical ? line : end;
+            mEndY[mCount] = vertical ? end : line;
+            mCount++;
+        }
+
+        private int direction(int e) {
+            if (mStartY[e] == mEndY[e]) {
+                return mEndX[e] > mStartX[e] ? EAST : WEST;
+            }
+            return mEndY[e] > mStartY[e] ? NORTH : SOUTH;
+        }
+
+        List<int[]> link() {
+            //open addressing table from start vertex to first edge, chained via mNext
+            int capacity = Integer.highestOneBit(Math.max(mCount, 1) * 2) * 2;
+            long[] vertices = new long[capacity];
+            int[] firstEdge = new int[capacity];
+            Arrays.fill(firstEdge, -1);
+            int[] next = new int[mCount];
+            for (int e = 0; e < mCount; e++) {
+                int slot = slot(vertices, firstEdge, vertex(mStartX[e], mStartY[e]));
+                next[e] = firstEdge[slot];
+                firstEdge[slot] = e;
+            }
+
+            //index of each vertex within the ring being traced, or -1
+            int[] position = new int[capacity];
+            Arrays.fill(position, -1);
+
+            boolean[] used = new boolean[mCount];
+            List<int[]> rings = new ArrayList<>();
+            int[] ring = new int[16];
+            for (int first = 0; first < mCount; first++) {
+                if (used[first]) {
+                    continue;
+                }
+
+                int length = 0;
+                int e = first;
+                int slot = slot(vertices, firstEdge, vertex(mStartX[e], mStartY[e]));
+                while (true) {
+                    used[e] = true;
+                    if (position[slot] >= 0) {
+                        //back at a vertex where the area touches itself at a corner: close the
+                        //loop since its first visit as a ring of its own, so that no ring
+                        //touches itself; this turns an enclosed area into a hole touching the
+                        //exterior at this vertex
+                        int start = 2 * position[slot];
+                        rings.add(removeCollinear(Arrays.copyOfRange(ring, start, length),
+                                length - start));
+                        clearPositions(ring, start, length, vertices, firstEdge, position);
+                        length = start;
+                    }
+                    if (length == ring.length) {
+                        ring = Arrays.copyOf(ring, length * 2);
+                    }
+                    position[slot] = length / 2;
+                    ring[length++] = mStartX[e];
+                    ring[length++] = mStartY[e];
+
+                    //at vertices shared by two rings, prefer turning left to keep rings apart
+                    int direction = direction(e);
+                    slot = slot(vertices, firstEdge, vertex(mEndX[e], mEndY[e]));
+                    int best = -1;
+                    int bestTurn = Integer.MAX_VALUE;
+                    for (int c = firstEdge[slot]; c >= 0; c = next[c]) {
+                        if (used[c] && c != first) {
+                            continue;
+                        }
+                        //0: left, 1: straight, 2: right
+                        int turn = (direction - direction(c) + 5) % 4;
+                        if (turn < bestTurn) {
+                            best = c;
+                            bestTurn = turn;
+                        }
+                    }
+                    if (best < 0 || best == first) {
+                        break;
+                    }
+                    e = best;
+                }
+
+                rings.add(removeCollinear(ring, length));
+                clearPositions(ring, 0, length, vertices, firstEdge, position);
+            }
+            return rings;
+        }
+
+        private static void clearPositions(int[] ring, int from, int to, long[] vertices,
+                                           int[] firstEdge, int[] position) {
+            for (int i = from; i < to; i += 2) {
+                position[slot(vertices, firstEdge, vertex(ring[i], ring[i + 1]))] = -1;
+            }
+        }
+
+        private static long vertex(int x, int y) {
+            return ((long) x << 32) | y;
+        }
+
+        private static int slot(long[] vertices, int[] firstEdge, long vertex) {
+            int mask = vertices.length - 1;
+            int slot = (int) (vertex ^ (vertex >>> 29)) * 0x9E3779B9 & mask;
+            while (firstEdge[slot] >= 0 && vertices[slot] != vertex) {
+                slot = (slot + 1) & mask;
+            }
+            vertices[slot] = vertex;
+            return slot;
+        }
+
+        private static int[] removeCollinear(int[] ring, int length) {
+            int n = length / 2;
+            int[] result = new int[length];
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                int prev = (i + n - 1) % n;
+                int next = (i + 1) % n;
+                boolean collinear = (ring[2 * prev] == ring[2 * i] && ring[2 * i] == ring[2 * next])
+                        || (ring[2 * prev + 1] == ring[2 * i + 1]
+                        && ring[2 * i + 1] == ring[2 * next + 1]);
+                if (!collinear) {
+                    result[count++] = ring[2 * i];
+                    result[count++] = ring[2 * i + 1];
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+}
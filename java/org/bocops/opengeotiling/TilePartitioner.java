@@ -0,0 +1,410 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import java.util.Arrays;
+
+/**
+ * Assigns tiles to a fixed number of partitions, e.g. for sharding per-tile state across the
+ * nodes of a cluster, such that each partition carries roughly the same share of an observed
+ * per-tile weight while neighboring tiles mostly stay in the same partition.
+ *
+ * Every partition is a contiguous range of tiles in the order of their addresses (see
+ * {@link TileKey}), and starts at a tile of whatever size is coarsest while still meeting the
+ * requested balance. Partition i thus consists of the tile where it starts, everything contained
+ * in that tile, and everything after it up to where partition i+1 starts. A tile that is bigger
+ * than the tiles partitions start with belongs to the partition that contains its first
+ * (south-western-most) part. Weighted tiles may be of mixed sizes, e.g. "8FVC" next to
+ * "8FVC2222".
+ *
+ * Lookups walk a table indexed by the digit pairs of a tile address, so they take at most one
+ * step per {@link OpenGeoTile.TileSize}.
+ *
+ * @version 0.1.0
+ */
+public final class TilePartitioner {
+
+    /**
+     * Default allowed deviation of a partition boundary from its ideal position, as a fraction
+     * of the ideal weight of a single partition.
+     */
+    public static final double DEFAULT_TOLERANCE = 0.05;
+
+    //slots per lookup node, one for each combination of latitude and longitude digit
+    private static final int SLOTS = TileKey.ENCODING_BASE * TileKey.ENCODING_BASE;
+
+    private final long[] mStarts;
+    private final Node mRoot;
+
+    private TilePartitioner(long[] starts) {
+        mStarts = starts;
+        mRoot = buildLookup(starts);
+    }
+
+    /**
+     * Creates partitions for a set of tiles and their weights, allowing each partition boundary
+     * to deviate by {@link #DEFAULT_TOLERANCE} from its ideal position.
+     * @param keys packed keys of the tiles with observed weights; duplicate keys are summed up
+     * @param weights weight of each tile, same order as keys
+     * @param partitionCount number of partitions to create
+     * @return a new TilePartitioner
+     * @throws IllegalArgumentException if keys and weights differ in length, or if there are
+     * fewer distinct tiles than partitions
+     */
+    public static TilePartitioner create(long[] keys, double[] weights, int partitionCount)
+            throws IllegalArgumentException {
+        return create(keys, weights, partitionCount, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Creates partitions for a set of tiles and their weights.
+     * @param keys packed keys of the tiles with observed weights; duplicate keys are summed up
+     * @param weights weight of each tile, same order as keys
+     * @param partitionCount number of partitions to create
+     * @param tolerance allowed deviation of each partition boundary from its ideal position, as
+     *                  a fraction of the ideal weight of a single partition; higher values lead
+     *                  to partitions starting at bigger tiles
+     * @return a new TilePartitioner
+     * @throws IllegalArgumentException if keys and weights differ in length, or if there are
+     * fewer distinct tiles than partitions
+     */
+    public static TilePartitioner create(long[] keys, double[] weights, int partitionCount,
+                                         double tolerance) throws IllegalArgumentException {
+        return new TilePartitioner(chooseStarts(new Weights(keys, weights), partitionCount,
+                tolerance, null));
+    }
+
+    /**
+     * Creates new partitions for updated weights, changing the partition of as few tiles as
+     * possible. Existing partition boundaries are kept wherever they still meet the tolerance,
+     * and are otherwise moved to the acceptable position closest to where they were.
+     * @param keys packed keys of the tiles with observed weights; duplicate keys are summed up
+     * @param weights weight of each tile, same order as keys
+     * @param tolerance allowed deviation of each partition boundary from its ideal position
+     * @return a new TilePartitioner with the same number of partitions as this one
+     * @throws IllegalArgumentException if keys and weights differ in length, or if there are
+     * fewer distinct tiles than partitions
+     */
+    public TilePartitioner rebalance(long[] keys, double[] weights, double tolerance)
+            throws IllegalArgumentException {
+        return new TilePartitioner(chooseStarts(new Weights(keys, weights), getPartitionCount(),
+                tolerance, mStarts));
+    }
+
+    /**
+     * Creates new partitions for updated weights, using {@link #DEFAULT_TOLERANCE}.
+     * @see #rebalance(long[], double[], double)
+     * @param keys packed keys of the tiles with observed weights; duplicate keys are summed up
+     * @param weights weight of each tile, same order as keys
+     * @return a new TilePartitioner with the same number of partitions as this one
+     * @throws IllegalArgumentException if keys and weights differ in length, or if there are
+     * fewer distinct tiles than partitions
+     */
+    public TilePartitioner rebalance(long[] keys, double[] weights)
+            throws IllegalArgumentException {
+        return rebalance(keys, weights, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Get the number of partitions.
+     * @return the number of partitions; partitions are numbered from 0 to getPartitionCount()-1
+     */
+    public int getPartitionCount() {
+        return mStarts.length + 1;
+    }
+
+    /**
+     * Get the tiles where partitions start. Partition 0 always starts at the first tile.
+     * @return packed keys of the tiles where partitions 1 to getPartitionCount()-1 start
+     */
+    public long[] getPartitionStarts() {
+        return mStarts.clone();
+    }
+
+    /**
+     * Get the partition of a tile.
+     * @param tile the tile, of any size
+     * @return the partition of this tile
+     */
+    public int getPartition(OpenGeoTile tile) {
+        return getPartition(TileKey.of(tile));
+    }
+
+    /**
+     * Get the partition of a tile.
+     * @param key packed key of the tile, of any size
+     * @return the partition of this tile
+     */
+    public int getPartition(long key) {
+        Node node = mRoot;
+        int pairs = TileKey.getPairCount(key);
+        for (int pair = 0; pair < pairs; pair++) {
+            int slot = slot(key, pair);
+            Node child = node.mChildren[slot];
+            if (child == null) {
+                return node.mPartitions[slot];
+            }
+            node = child;
+        }
+        //partitions start within this tile, so it belongs to the one it starts in
+        return node.mFirstPartition;
+    }
+
+    /**
+     * Count the tiles that are assigned to a different partition by another TilePartitioner,
+     * e.g. to find out how many tiles need to be moved after {@link #rebalance(long[], double[])}.
+     * @param other another TilePartitioner
+     * @param keys packed keys of the tiles to check
+     * @return the number of tiles in keys that are assigned to different partitions
+     */
+    public int countMovedTiles(TilePartitioner other, long[] keys) {
+        int moved = 0;
+        for (long key : keys) {
+            if (getPartition(key) != other.getPartition(key)) {
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    private static long[] chooseStarts(Weights w, int partitionCount, double tolerance,
+                                       long[] previousStarts) throws IllegalArgumentException {
+        if (partitionCount < 1 || w.mKeys.length < partitionCount) {
+            throw new IllegalArgumentException("Not enough tiles for partitionCount");
+        }
+
+        int n = w.mKeys.length;
+        double total = w.mCumulative[n];
+        double allowedDeviation = tolerance * total / partitionCount;
+
+        long[] starts = new long[partitionCount - 1];
+        int previousPosition = 0;
+        for (int cut = 1; cut < partitionCount; cut++) {
+            double target = total * cut / partitionCount;
+            //keep at least one tile for each of the remaining partitions
+            int minPosition = previousPosition + 1;
+            int maxPosition = n - (partitionCount - cut);
+
+            int ideal = lowerBound(w.mCumulative, target);
+            ideal = Math.max(minPosition, Math.min(maxPosition, ideal));
+            if (ideal > minPosition
+                    && target - w.mCumulative[ideal - 1] < w.mCumulative[ideal] - target) {
+                ideal--;
+            }
+
+            int previous = -1;
+            if (previousStarts != null) {
+                previous = lowerBound(w.mKeys, previousStarts[cut - 1]);
+            }
+
+            //when rebalancing, look around the acceptable position closest to the old boundary
+            int preferred = ideal;
+            if (previous >= 0) {
+                int low = Math.max(minPosition,
+                        lowerBound(w.mCumulative, target - allowedDeviation));
+                int high = Math.min(maxPosition,
+                        upperBound(w.mCumulative, target + allowedDeviation) - 1);
+                if (low <= high) {
+                    preferred = Math.max(low, Math.min(high, previous));
+                }
+            }
+
+            long best = TileKey.NO_TILE;
+            int bestPosition = -1;
+            double bestDeviation = Double.MAX_VALUE;
+            boolean bestAcceptable = false;
+
+            //candidates: the tiles of each size that start right at or after that position
+            int maxPairs = TileKey.getPairCount(w.mKeys[preferred]);
+            for (int pairs = 1; pairs <= maxPairs; pairs++) {
+                long containing = TileKey.getParent(w.mKeys[preferred],
+                        OpenGeoTile.TileSize.values()[pairs - 1]);
+                long[] candidates = {containing, TileKey.NO_TILE};
+                int after = lowerBound(w.mKeys, TileKey.getRangeEnd(containing));
+                if (after < n) {
+                    //with tiles of mixed size, the next tile may be bigger than this size
+                    int afterPairs = Math.min(pairs, TileKey.getPairCount(w.mKeys[after]));
+                    candidates[1] = TileKey.getParent(w.mKeys[after],
+                            OpenGeoTile.TileSize.values()[afterPairs - 1]);
+                }
+
+                for (long candidate : candidates) {
+                    if (candidate == TileKey.NO_TILE) {
+                        continue;
+                    }
+                    int position = lowerBound(w.mKeys, candidate);
+                    if (position < minPosition || position > maxPosition) {
+                        continue;
+                    }
+                    double deviation = Math.abs(w.mCumulative[position] - target);
+                    boolean acceptable = deviation <= allowedDeviation;
+
+                    boolean better;
+                    if (acceptable != bestAcceptable) {
+                        better = acceptable;
+                    } else if (acceptable && previous >= 0) {
+                        //rebalancing: move as few tiles as possible, then prefer bigger tiles
+                        better = Math.abs(position - previous)
+                                < Math.abs(bestPosition - previous);
+                    } else if (acceptable) {
+                        //bigger tiles come first, so keep the first acceptable one
+                        better = best == TileKey.NO_TILE;
+                    } else {
+                        better = deviation < bestDeviation;
+                    }
+
+                    if (better) {
+                        best = candidate;
+                        bestPosition = position;
+                        bestDeviation = deviation;
+                        bestAcceptable = acceptable;
+                    }
+                }
+            }
+
+            //rebalancing: keep a boundary that is still good enough
+            if (previous >= minPosition && previous <= maxPosition
+                    && Math.abs(w.mCumulative[previous] - target) <= allowedDeviation) {
+                best = previousStarts[cut - 1];
+                bestPosition = previous;
+            }
+
+            starts[cut - 1] = best;
+            previousPosition = bestPosition;
+        }
+        return starts;
+    }
+
+    //index of the first element not smaller than value
+    private static int lowerBound(long[] sorted, long value) {
+        int i = Arrays.binarySearch(sorted, value);
+        if (i < 0) {
+            return -i - 1;
+        }
+        while (i > 0 && sorted[i - 1] == value) {
+            i--;
+        }
+        return i;
+    }
+
+    //index of the first element bigger than value
+    private static int upperBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int slot(long key, int pair) {
+        return TileKey.digitAt(key, 2 * pair) * TileKey.ENCODING_BASE
+                + TileKey.digitAt(key, 2 * pair + 1);
+    }
+
+    private static Node buildLookup(long[] starts) {
+        //create nodes down to the level of each partition start
+        Node root = new Node();
+        for (long start : starts) {
+            Node node = root;
+            int pairs = TileKey.getPairCount(start);
+            for (int pair = 0; pair < pairs - 1; pair++) {
+                int slot = slot(start, pair);
+                if (node.mChildren[slot] == null) {
+                    node.mChildren[slot] = new Node();
+                }
+                node = node.mChildren[slot];
+            }
+            node.mStarts[slot(start, pairs - 1)] = true;
+        }
+
+        //number partitions in order of the tiles they start with
+        assignPartitions(root, 0);
+        return root;
+    }
+
+    private static int assignPartitions(Node node, int partition) {
+        node.mFirstPartition = partition;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (node.mStarts[slot]) {
+                partition++;
+            }
+            if (node.mChildren[slot] != null) {
+                partition = assignPartitions(node.mChildren[slot], partition);
+            } else {
+                node.mPartitions[slot] = partition;
+            }
+        }
+        return partition;
+    }
+
+    //one lookup step: the partition of each sub-tile, or a child node if partitions start within
+    private static final class Node {
+        final int[] mPartitions = new int[SLOTS];
+        final Node[] mChildren = new Node[SLOTS];
+        final boolean[] mStarts = new boolean[SLOTS];
+        int mFirstPartition;
+    }
+
+    //sorted distinct keys with their weights summed up, and the cumulative weight before each
+    private static final class Weights {
+        final long[] mKeys;
+        final double[] mCumulative;
+
+        Weights(long[] keys, double[] weights) throws IllegalArgumentException {
+            if (keys.length != weights.length) {
+                throw new IllegalArgumentException("Number of keys and weights don't match");
+            }
+
+            long[] sorted = keys.clone();
+            Arrays.sort(sorted);
+            int n = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (n == 0 || sorted[i] != sorted[n - 1]) {
+                    sorted[n++] = sorted[i];
+                }
+            }
+            mKeys = Arrays.copyOf(sorted, n);
+
+            double[] summed = new double[n];
+            for (int i = 0; i < keys.length; i++) {
+                summed[Arrays.binarySearch(mKeys, keys[i])] += weights[i];
+            }
+            mCumulative = new double[n + 1];
+            for (int i = 0; i < n; i++) {
+                mCumulative[i + 1] = mCumulative[i] + summed[i];
+            }
+        }
+    }
+}
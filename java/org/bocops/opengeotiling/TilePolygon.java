@@ -0,0 +1,94 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import java.util.List;
+
+/**
+ * A rectilinear polygon along tile borders, as returned by {@link TileOutline}. A polygon
+ * consists of an exterior ring and any number of holes.
+ *
+ * Vertices are stored on the grid of PINPOINT tiles: x counts PINPOINT tiles eastwards from the
+ * antimeridian, y counts PINPOINT tiles northwards from the south pole. Rings are not closed,
+ * i.e. the first vertex is not repeated at the end. Following GeoJSON conventions, the exterior
+ * ring is counterclockwise and holes are clockwise.
+ *
+ * @version 0.1.0
+ */
+public final class TilePolygon {
+
+    private final int[][] mRings;
+
+    TilePolygon(List<int[]> rings) {
+        mRings = rings.toArray(new int[rings.size()][]);
+    }
+
+    /**
+     * Get the number of rings of this polygon.
+     * @return 1 for the exterior ring, plus the number of holes
+     */
+    public int getRingCount() {
+        return mRings.length;
+    }
+
+    /**
+     * Get the number of vertices of a ring.
+     * @param ring 0 for the exterior ring, 1 to getRingCount()-1 for holes
+     * @return the number of vertices of this ring
+     */
+    public int getVertexCount(int ring) {
+        return mRings[ring].length / 2;
+    }
+
+    /**
+     * Get the x coordinate of a vertex on the PINPOINT grid.
+     * @param ring 0 for the exterior ring, 1 to getRingCount()-1 for holes
+     * @param vertex index of the vertex within its ring
+     * @return number of PINPOINT tiles eastwards from the antimeridian
+     */
+    public int getX(int ring, int vertex) {
+        return mRings[ring][2 * vertex];
+    }
+
+    /**
+     * Get the y coordinate of a vertex on the PINPOINT grid.
+     * @param ring 0 for the exterior ring, 1 to getRingCount()-1 for holes
+     * @param vertex index of the vertex within its ring
+     * @return number of PINPOINT tiles northwards from the south pole
+     */
+    public int getY(int ring, int vertex) {
+        return mRings[ring][2 * vertex + 1];
+    }
+
+    /**
+     * Get the latitude of a vertex.
+     * @param ring 0 for the exterior ring, 1 to getRingCount()-1 for holes
+     * @param vertex index of the vertex within its ring
+     * @return the latitude of this vertex
+     */
+    public double getLatitude(int ring, int vertex) {
+        return (double) getY(ring, vertex) / TileKey.PINPOINT_TILES_PER_DEGREE - 90;
+    }
+
+    /**
+     * Get the longitude of a vertex.
+     * @param ring 0 for the exterior ring, 1 to getRingCount()-1 for holes
+     * @param vertex index of the vertex within its ring
+     * @return the longitude of this vertex
+     */
+    public double getLongitude(int ring, int vertex) {
+        return (double) getX(ring, vertex) / TileKey.PINPOINT_TILES_PER_DEGREE - 180;
+    }
+}
@@ -0,0 +1,122 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+/**
+ * The per-tile aggregates of all events within one window of time, as emitted by
+ * {@link TileWindowAggregator}. Only tiles with at least one event are included, sorted by their
+ * {@link TileKey}.
+ *
+ * @version 0.1.0
+ */
+public final class TileWindow {
+
+    private final long mStartMillis;
+    private final long mEndMillis;
+    private final long[] mKeys;
+    private final long[] mCounts;
+    private final double[] mSums;
+    private final double[] mMins;
+    private final double[] mMaxs;
+
+    TileWindow(long startMillis, long endMillis, long[] keys, long[] counts, double[] sums,
+               double[] mins, double[] maxs) {
+        mStartMillis = startMillis;
+        mEndMillis = endMillis;
+        mKeys = keys;
+        mCounts = counts;
+        mSums = sums;
+        mMins = mins;
+        mMaxs = maxs;
+    }
+
+    /**
+     * Get the start of this window.
+     * @return the first millisecond of this window, in milliseconds since the epoch
+     */
+    public long getStartMillis() {
+        return mStartMillis;
+    }
+
+    /**
+     * Get the end of this window.
+     * @return the first millisecond after this window, in milliseconds since the epoch
+     */
+    public long getEndMillis() {
+        return mEndMillis;
+    }
+
+    /**
+     * Get the number of tiles with events in this window.
+     * @return the number of tiles; tiles are numbered from 0 to getTileCount()-1
+     */
+    public int getTileCount() {
+        return mKeys.length;
+    }
+
+    /**
+     * Get the key of a tile.
+     * @param i number of the tile within this window
+     * @return the packed key of the tile
+     */
+    public long getTileKey(int i) {
+        return mKeys[i];
+    }
+
+    /**
+     * Get the number of events in a tile.
+     * @param i number of the tile within this window
+     * @return the number of events in this tile
+     */
+    public long getCount(int i) {
+        return mCounts[i];
+    }
+
+    /**
+     * Get the sum of all event values in a tile.
+     * @param i number of the tile within this window
+     * @return the sum of all event values in this tile
+     */
+    public double getSum(int i) {
+        return mSums[i];
+    }
+
+    /**
+     * Get the average of all event values in a tile.
+     * @param i number of the tile within this window
+     * @return the average of all event values in this tile
+     */
+    public double getAverage(int i) {
+        return mSums[i] / mCounts[i];
+    }
+
+    /**
+     * Get the smallest event value in a tile.
+     * @param i number of the tile within this window
+     * @return the smallest event value in this tile
+     */
+    public double getMin(int i) {
+        return mMins[i];
+    }
+
+    /**
+     * Get the biggest event value in a tile.
+     * @param i number of the tile within this window
+     * @return the biggest event value in this tile
+     */
+    public double getMax(int i) {
+        return mMaxs[i];
+    }
+}
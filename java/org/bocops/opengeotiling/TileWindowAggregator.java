@@ -0,0 +1,340 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * A {@link Flow.Processor} that aggregates {@link TileEvent}s per tile and window of time, and
+ * publishes one {@link TileWindow} per completed window.
+ *
+ * Windows are based on event time. Each window is windowMillis long and a new one starts every
+ * slideMillis; tumbling windows have both set to the same value. Internally, events are
+ * aggregated into panes of slideMillis, so each event is added exactly once, no matter how many
+ * windows overlap. A window is published as soon as an event for a later pane arrives, or when
+ * the upstream publisher completes. Events arriving for a pane older than the newest one are
+ * late: with sliding windows, they may still belong to open windows, but at least one window
+ * containing them has already been published. Published windows are never corrected, so late
+ * events are dropped and counted instead, see {@link #getDroppedEventCount()}. An event of a
+ * tile bigger than the aggregation size cancels the subscription and closes this publisher
+ * exceptionally; any signals from upstream after that are ignored.
+ *
+ * Upstream items are requested in batches. Publishing blocks while any subscriber has no room
+ * left in its buffer, which in turn keeps further items from being requested, so a slow
+ * subscriber slows down the upstream publisher instead of letting buffers grow. Subscribers are
+ * notified on the given {@link Executor}; on Java 21 or newer, a virtual thread per task executor
+ * can be used.
+ *
+ * @version 0.1.0
+ */
+public class TileWindowAggregator extends SubmissionPublisher<TileWindow>
+        implements Flow.Processor<TileEvent, TileWindow> {
+
+    private static final int REQUEST_BATCH_SIZE = 4096;
+    private static final int INITIAL_PANE_CAPACITY = 64;
+
+    private final OpenGeoTile.TileSize mTileSize;
+    private final long mWindowMillis;
+    private final long mSlideMillis;
+    private final Pane[] mPanes;
+
+    private Flow.Subscription mSubscription;
+    private int mReceivedSinceRequest = 0;
+    private long mNewestPane = Long.MIN_VALUE;
+    private volatile long mDroppedEventCount = 0;
+
+    /**
+     * Creates a new TileWindowAggregator for tumbling windows, notifying subscribers on
+     * {@link ForkJoinPool#commonPool()}.
+     * @param tileSize size of the tiles to aggregate into
+     * @param windowMillis length of each window, in milliseconds
+     * @throws IllegalArgumentException if windowMillis is not positive
+     */
+    public TileWindowAggregator(OpenGeoTile.TileSize tileSize, long windowMillis)
+            throws IllegalArgumentException {
+        this(tileSize, windowMillis, windowMillis, ForkJoinPool.commonPool(),
+                Flow.defaultBufferSize());
+    }
+
+    /**
+     * Creates a new TileWindowAggregator.
+     * @param tileSize size of the tiles to aggregate into
+     * @param windowMillis length of each window, in milliseconds
+     * @param slideMillis time between the start of two windows, in milliseconds; windowMillis
+     *                    must be a multiple of this
+     * @param executor executor used to notify subscribers
+     * @param maxBufferCapacity maximum number of windows buffered per subscriber
+     * @throws IllegalArgumentException if windowMillis is not a positive multiple of slideMillis
+     */
+    public TileWindowAggregator(OpenGeoTile.TileSize tileSize, long windowMillis, long slideMillis,
+                                Executor executor, int maxBufferCapacity)
+            throws IllegalArgumentException {
+        super(executor, maxBufferCapacity);
+        if (slideMillis <= 0 || windowMillis <= 0 || windowMillis % slideMillis != 0) {
+            throw new IllegalArgumentException("Window must be a multiple of slide");
+        }
+        mTileSize = tileSize;
+        mWindowMillis = windowMillis;
+        mSlideMillis = slideMillis;
+        mPanes = new Pane[(int) (windowMillis / slideMillis)];
+        for (int i = 0; i < mPanes.length; i++) {
+            mPanes[i] = new Pane();
+        }
+    }
+
+    /**
+     * Get the number of events dropped because they arrived after a window containing them was
+     * published.
+     * @return the number of dropped events
+     */
+    public long getDroppedEventCount() {
+        return mDroppedEventCount;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (mSubscription != null) {
+            subscription.cancel();
+            return;
+        }
+        mSubscription = subscription;
+        subscription.request(REQUEST_BATCH_SIZE);
+    }
+
+    @Override
+    public void onNext(TileEvent event) {
+        //upstream may still send items after a cancel, which must not throw
+        if (isClosed()) {
+            return;
+        }
+        long tileKey;
+        try {
+            tileKey = event.getTileKey(mTileSize);
+        } catch (IllegalArgumentException e) {
+            mSubscription.cancel();
+            closeExceptionally(e);
+            return;
+        }
+
+        long pane = Math.floorDiv(event.getTimestampMillis(), mSlideMillis);
+        if (pane > mNewestPane) {
+            advanceTo(pane);
+        }
+
+        //older panes are part of at least one published window
+        if (pane < mNewestPane) {
+            mDroppedEventCount++; //only ever written from onNext, which is never concurrent
+        } else {
+            paneFor(pane).add(tileKey, event.getValue());
+        }
+
+        //request the next batch early, so upstream doesn't have to wait
+        if (++mReceivedSinceRequest >= REQUEST_BATCH_SIZE / 2) {
+            mSubscription.request(mReceivedSinceRequest);
+            mReceivedSinceRequest = 0;
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isClosed()) {
+            return;
+        }
+        closeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (isClosed()) {
+            return;
+        }
+        //publish all windows still containing events
+        if (mNewestPane != Long.MIN_VALUE) {
+            advanceTo(mNewestPane + mPanes.length);
+        }
+        close();
+    }
+
+    //publish all windows ending before the given pane starts, and reuse their oldest panes
+    private void advanceTo(long pane) {
+        if (mNewestPane != Long.MIN_VALUE) {
+            //windows ending after the previous newest pane, without panes older than that
+            long lastEnd = Math.min(pane, mNewestPane + mPanes.length);
+            for (long end = mNewestPane + 1; end <= lastEnd; end++) {
+                publish(end);
+                Pane oldest = mPanes[slot(end - mPanes.length)];
+                if (oldest.mPane == end - mPanes.length) {
+                    oldest.clear();
+                }
+            }
+        }
+        mNewestPane = pane;
+    }
+
+    //publish the window consisting of the panes right before the given one
+    private void publish(long endPane) {
+        Pane merged = null;
+        for (long p = endPane - mPanes.length; p < endPane; p++) {
+            Pane pane = mPanes[slot(p)];
+            if (pane.mPane != p || pane.mSize == 0) {
+                continue;
+            }
+            if (mPanes.length == 1) {
+                merged = pane;
+            } else {
+                if (merged == null) {
+                    merged = new Pane();
+                }
+                merged.addAll(pane);
+            }
+        }
+
+        if (merged != null) {
+            long endMillis = endPane * mSlideMillis;
+            submit(merged.toWindow(endMillis - mWindowMillis, endMillis));
+        }
+    }
+
+    private Pane paneFor(long p) {
+        Pane pane = mPanes[slot(p)];
+        if (pane.mPane != p) {
+            pane.clear();
+            pane.mPane = p;
+        }
+        return pane;
+    }
+
+    private int slot(long pane) {
+        return (int) Math.floorMod(pane, (long) mPanes.length);
+    }
+
+    //per-tile aggregates of one pane, in an open addressing hash table of primitive arrays
+    private static final class Pane {
+        long mPane = Long.MIN_VALUE;
+        long[] mKeys;
+        long[] mCounts;
+        double[] mSums;
+        double[] mMins;
+        double[] mMaxs;
+        int mSize;
+
+        Pane() {
+            allocate(INITIAL_PANE_CAPACITY);
+        }
+
+        private void allocate(int capacity) {
+            mKeys = new long[capacity];
+            Arrays.fill(mKeys, TileKey.NO_TILE);
+            mCounts = new long[capacity];
+            mSums = new double[capacity];
+            mMins = new double[capacity];
+            mMaxs = new double[capacity];
+            mSize = 0;
+        }
+
+        void clear() {
+            if (mSize > 0) {
+                Arrays.fill(mKeys, TileKey.NO_TILE);
+                mSize = 0;
+            }
+            mPane = Long.MIN_VALUE;
+        }
+
+        void add(long key, double value) {
+            merge(key, 1, value, value, value);
+        }
+
+        void addAll(Pane other) {
+            for (int i = 0; i < other.mKeys.length; i++) {
+                if (other.mKeys[i] != TileKey.NO_TILE) {
+                    merge(other.mKeys[i], other.mCounts[i], other.mSums[i], other.mMins[i],
+                            other.mMaxs[i]);
+                }
+            }
+        }
+
+        private void merge(long key, long count, double sum, double min, double max) {
+            int i = find(key);
+            if (mKeys[i] == TileKey.NO_TILE) {
+                if (2 * (mSize + 1) > mKeys.length) {
+                    grow();
+                    i = find(key);
+                }
+                mKeys[i] = key;
+                mCounts[i] = count;
+                mSums[i] = sum;
+                mMins[i] = min;
+                mMaxs[i] = max;
+                mSize++;
+            } else {
+                mCounts[i] += count;
+                mSums[i] += sum;
+                mMins[i] = Math.min(mMins[i], min);
+                mMaxs[i] = Math.max(mMaxs[i], max);
+            }
+        }
+
+        private int find(long key) {
+            int mask = mKeys.length - 1;
+            int i = (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+            while (mKeys[i] != TileKey.NO_TILE && mKeys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private void grow() {
+            long[] keys = mKeys;
+            long[] counts = mCounts;
+            double[] sums = mSums;
+            double[] mins = mMins;
+            double[] maxs = mMaxs;
+            allocate(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != TileKey.NO_TILE) {
+                    merge(keys[i], counts[i], sums[i], mins[i], maxs[i]);
+                }
+            }
+        }
+
+        TileWindow toWindow(long startMillis, long endMillis) {
+            long[] keys = new long[mSize];
+            int n = 0;
+            for (long key : mKeys) {
+                if (key != TileKey.NO_TILE) {
+                    keys[n++] = key;
+                }
+            }
+            Arrays.sort(keys);
+
+            long[] counts = new long[n];
+            double[] sums = new double[n];
+            double[] mins = new double[n];
+            double[] maxs = new double[n];
+            for (int k = 0; k < n; k++) {
+                int i = find(keys[k]);
+                counts[k] = mCounts[i];
+                sums[k] = mSums[i];
+                mins[k] = mMins[i];
+                maxs[k] = mMaxs[i];
+            }
+            return new TileWindow(startMillis, endMillis, keys, counts, sums, mins, maxs);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import com.google.openlocationcode.OpenLocationCode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Neighbors, adjacency at the same and at different tile sizes, identity and containment.
+ *
+ * @version 0.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdjacencyBenchmark {
+
+    @State(Scope.Thread)
+    public static class Inputs {
+        @Param
+        public OpenGeoTile.TileSize tileSize;
+
+        @Param
+        public BenchmarkPoints points;
+
+        OpenGeoTile[] tiles;
+        //an adjacent tile of the same size
+        OpenGeoTile[] neighbors;
+        //a tile of the same size that is not adjacent
+        OpenGeoTile[] strangers;
+        //a tile of this size, or NEIGHBORHOOD for PINPOINT, and an adjacent tile one size smaller
+        OpenGeoTile[] mixedBig;
+        OpenGeoTile[] mixedSmall;
+        //a tile contained in tiles, or the tile itself for PINPOINT
+        OpenGeoTile[] members;
+        int index;
+
+        private static final String CODE_ALPHABET = "23456789CFGHJMPQRVWX";
+
+        @Setup(Level.Trial)
+        public void setup() {
+            double[][] coordinates = points.generate();
+            int n = coordinates.length;
+            tiles = new OpenGeoTile[n];
+            neighbors = new OpenGeoTile[n];
+            strangers = new OpenGeoTile[n];
+            mixedBig = new OpenGeoTile[n];
+            mixedSmall = new OpenGeoTile[n];
+            members = new OpenGeoTile[n];
+
+            //only public API, so inputs can be built against any version of this library
+            OpenGeoTile.TileSize[] sizes = OpenGeoTile.TileSize.values();
+            int bigSize = Math.min(tileSize.ordinal(), sizes.length - 2);
+            for (int i = 0; i < n; i++) {
+                double latitude = coordinates[i][0];
+                double longitude = coordinates[i][1];
+                tiles[i] = new OpenGeoTile(latitude, longitude, tileSize);
+
+                OpenGeoTile[] all = tiles[i].getNeighbors();
+                neighbors[i] = all[i % all.length];
+                strangers[i] = eastOf(tiles[i], 5);
+
+                //western-most column of the eastern neighbor of the bigger tile
+                mixedBig[i] = new OpenGeoTile(latitude, longitude, sizes[bigSize]);
+                mixedSmall[i] = new OpenGeoTile(eastOf(mixedBig[i], 1).getTileAddress()
+                        + CODE_ALPHABET.charAt(i % 20) + CODE_ALPHABET.charAt(0));
+
+                OpenGeoTile.TileSize memberSize = sizes[Math.min(tileSize.ordinal() + 1,
+                        sizes.length - 1)];
+                members[i] = new OpenGeoTile(latitude, longitude, memberSize);
+            }
+        }
+
+        //the tile the given number of tiles east of a tile, wrapping around the antimeridian
+        private static OpenGeoTile eastOf(OpenGeoTile tile, int tiles) {
+            OpenLocationCode.CodeArea area = tile.getTileOpenLocationCode().decode();
+            return new OpenGeoTile(area.getCenterLatitude(),
+                    area.getCenterLongitude() + tiles * area.getLongitudeWidth(),
+                    tile.getTileSize());
+        }
+
+        int next() {
+            index = (index + 1) & (BenchmarkPoints.COUNT - 1);
+            return index;
+        }
+    }
+
+    @Benchmark
+    public OpenGeoTile[] getNeighbors(Inputs in) {
+        return in.tiles[in.next()].getNeighbors();
+    }
+
+    @Benchmark
+    public boolean isNeighborSameSize(Inputs in) {
+        int i = in.next();
+        return in.tiles[i].isNeighbor(in.neighbors[i]);
+    }
+
+    @Benchmark
+    public boolean isNeighborSameSizeNotAdjacent(Inputs in) {
+        int i = in.next();
+        return in.tiles[i].isNeighbor(in.strangers[i]);
+    }
+
+    @Benchmark
+    public boolean isNeighborMixedSize(Inputs in) {
+        int i = in.next();
+        return in.mixedBig[i].isNeighbor(in.mixedSmall[i]);
+    }
+
+    @Benchmark
+    public boolean isSameTile(Inputs in) {
+        int i = in.next();
+        return in.tiles[i].isSameTile(in.neighbors[i]);
+    }
+
+    @Benchmark
+    public boolean contains(Inputs in) {
+        int i = in.next();
+        return in.tiles[i].contains(in.members[i]);
+    }
+}
@@ -0,0 +1,84 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import java.util.Random;
+
+/**
+ * Point distributions for benchmarks. Points are generated from a fixed seed, so every run and
+ * every commit benchmarks the same inputs.
+ *
+ * @version 0.1.0
+ */
+public enum BenchmarkPoints {
+    /**
+     * Uniformly distributed over latitude and longitude.*/
+    UNIFORM,
+
+    /**
+     * Clustered around a few large cities, like most real-world data.*/
+    CITIES,
+
+    /**
+     * Within 2° of either pole, where neighbors get clipped.*/
+    POLES,
+
+    /**
+     * Within 0.5° of the antimeridian, where neighbors and distances wrap around.*/
+    ANTIMERIDIAN;
+
+    static final int COUNT = 1024;
+
+    private static final double[][] CITIES_LAT_LNG = {
+            {35.68, 139.69}, {40.71, -74.01}, {-23.55, -46.63}, {19.08, 72.88},
+            {51.51, -0.13}, {-33.87, 151.21}, {30.04, 31.24}, {55.76, 37.62}};
+
+    /**
+     * Generate points of this distribution.
+     * @return an array of COUNT {latitude, longitude} pairs
+     */
+    double[][] generate() {
+        Random random = new Random(20170708L + ordinal());
+        double[][] points = new double[COUNT][];
+        for (int i = 0; i < COUNT; i++) {
+            double latitude;
+            double longitude;
+            switch (this) {
+                case CITIES:
+                    double[] city = CITIES_LAT_LNG[random.nextInt(CITIES_LAT_LNG.length)];
+                    latitude = city[0] + random.nextGaussian() * 0.2;
+                    longitude = city[1] + random.nextGaussian() * 0.2;
+                    break;
+                case POLES:
+                    latitude = (90 - random.nextDouble() * 2) * (random.nextBoolean() ? 1 : -1);
+                    longitude = random.nextDouble() * 360 - 180;
+                    break;
+                case ANTIMERIDIAN:
+                    latitude = random.nextDouble() * 160 - 80;
+                    longitude = 180 + (random.nextDouble() - 0.5);
+                    if (longitude >= 180) {
+                        longitude -= 360;
+                    }
+                    break;
+                default:
+                    latitude = random.nextDouble() * 180 - 90;
+                    longitude = random.nextDouble() * 360 - 180;
+                    break;
+            }
+            points[i] = new double[]{latitude, longitude};
+        }
+        return points;
+    }
+}
@@ -0,0 +1,122 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import com.google.openlocationcode.OpenLocationCode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction of OpenGeoTiles from coordinates, tile addresses and OLCs, and conversion back.
+ *
+ * @version 0.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstructionBenchmark {
+
+    @State(Scope.Thread)
+    public static class Inputs {
+        @Param
+        public OpenGeoTile.TileSize tileSize;
+
+        @Param
+        public BenchmarkPoints points;
+
+        double[][] coordinates;
+        String[] addresses;
+        String[] plusCodes;
+        OpenLocationCode[] openLocationCodes;
+        OpenLocationCode[] fullOpenLocationCodes;
+        OpenGeoTile[] tiles;
+        int index;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            coordinates = points.generate();
+            int n = coordinates.length;
+            addresses = new String[n];
+            plusCodes = new String[n];
+            openLocationCodes = new OpenLocationCode[n];
+            fullOpenLocationCodes = new OpenLocationCode[n];
+            tiles = new OpenGeoTile[n];
+            for (int i = 0; i < n; i++) {
+                tiles[i] = new OpenGeoTile(coordinates[i][0], coordinates[i][1], tileSize);
+                addresses[i] = tiles[i].getTileAddress();
+                openLocationCodes[i] = tiles[i].getWrappedOpenLocationCode();
+                plusCodes[i] = openLocationCodes[i].getCode();
+                fullOpenLocationCodes[i] = new OpenLocationCode(coordinates[i][0],
+                        coordinates[i][1]);
+            }
+        }
+
+        int next() {
+            index = (index + 1) & (BenchmarkPoints.COUNT - 1);
+            return index;
+        }
+    }
+
+    @Benchmark
+    public OpenGeoTile fromCoordinates(Inputs in) {
+        int i = in.next();
+        return new OpenGeoTile(in.coordinates[i][0], in.coordinates[i][1], in.tileSize);
+    }
+
+    @Benchmark
+    public OpenGeoTile fromTileAddress(Inputs in) {
+        return new OpenGeoTile(in.addresses[in.next()]);
+    }
+
+    @Benchmark
+    public OpenGeoTile fromOpenLocationCode(Inputs in) {
+        return new OpenGeoTile(in.openLocationCodes[in.next()], in.tileSize);
+    }
+
+    @Benchmark
+    public OpenGeoTile fromFullOpenLocationCode(Inputs in) {
+        return new OpenGeoTile(in.fullOpenLocationCodes[in.next()]);
+    }
+
+    @Benchmark
+    public OpenGeoTile fromPlusCode(Inputs in) {
+        return new OpenGeoTile(in.plusCodes[in.next()], in.tileSize);
+    }
+
+    @Benchmark
+    public String getTileAddress(Inputs in) {
+        return in.tiles[in.next()].getTileAddress();
+    }
+
+    @Benchmark
+    public OpenLocationCode getTileOpenLocationCode(Inputs in) {
+        return in.tiles[in.next()].getTileOpenLocationCode();
+    }
+}
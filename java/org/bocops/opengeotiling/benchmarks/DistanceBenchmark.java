@@ -0,0 +1,94 @@
+// Copyright 2026 open-geotiling contributors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//        http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.bocops.opengeotiling;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distances and directions between tiles of the same size.
+ *
+ * @version 0.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistanceBenchmark {
+
+    @State(Scope.Thread)
+    public static class Inputs {
+        @Param
+        public OpenGeoTile.TileSize tileSize;
+
+        @Param
+        public BenchmarkPoints points;
+
+        OpenGeoTile[] from;
+        OpenGeoTile[] to;
+        int index;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            double[][] coordinates = points.generate();
+            int n = coordinates.length;
+            from = new OpenGeoTile[n];
+            to = new OpenGeoTile[n];
+            for (int i = 0; i < n; i++) {
+                //pairs of consecutive points, i.e. mostly nearby for clustered distributions
+                double[] a = coordinates[i];
+                double[] b = coordinates[(i + 1) % n];
+                from[i] = new OpenGeoTile(a[0], a[1], tileSize);
+                to[i] = new OpenGeoTile(b[0], b[1], tileSize);
+            }
+        }
+
+        int next() {
+            index = (index + 1) & (BenchmarkPoints.COUNT - 1);
+            return index;
+        }
+    }
+
+    @Benchmark
+    public int getManhattanTileDistanceTo(Inputs in) {
+        int i = in.next();
+        return in.from[i].getManhattanTileDistanceTo(in.to[i]);
+    }
+
+    @Benchmark
+    public int getChebyshevTileDistanceTo(Inputs in) {
+        int i = in.next();
+        return in.from[i].getChebyshevTileDistanceTo(in.to[i]);
+    }
+
+    @Benchmark
+    public double getDirection(Inputs in) {
+        int i = in.next();
+        return in.from[i].getDirection(in.to[i]);
+    }
+}
@@ -73,4 +73,18 @@ public class AdjacencyTest {
         Assert.assertFalse(originalBlock.isNeighbor(originalBlock));
         Assert.assertFalse(polarBlock.isNeighbor(polarBlock));
     }
+
+    @Test
+    public void testNeighborsNearPole() throws Exception {
+        //no neighbors beyond the pole, and no duplicates
+        OpenGeoTile polar = new OpenGeoTile(89.99, 10, OpenGeoTile.TileSize.DISTRICT);
+        OpenGeoTile[] neighbors = polar.getNeighbors();
+        Assert.assertEquals(5, neighbors.length);
+        for (int i = 0; i < neighbors.length; i++) {
+            Assert.assertTrue(polar.isNeighbor(neighbors[i]));
+            for (int j = 0; j < i; j++) {
+                Assert.assertFalse(neighbors[i].isSameTile(neighbors[j]));
+            }
+        }
+    }
 }
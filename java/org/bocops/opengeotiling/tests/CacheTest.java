@@ -0,0 +1,137 @@
+package org.bocops.opengeotiling;
+
+import com.google.openlocationcode.OpenLocationCode;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CacheTest {
+
+    @Test
+    public void testLazyConstruction() {
+        //same tile and wrapped code as an eagerly encoded OLC, for every tile size
+        double[][] locations = {{47.36, 8.54}, {-33.87, 151.21}, {89.99999, 179.99999},
+                {-90, -180}, {0, 0}};
+        for (double[] location : locations) {
+            OpenLocationCode olc = new OpenLocationCode(location[0], location[1], 10);
+            for (OpenGeoTile.TileSize tileSize : OpenGeoTile.TileSize.values()) {
+                OpenGeoTile tile = new OpenGeoTile(location[0], location[1], tileSize);
+                OpenGeoTile expected = new OpenGeoTile(olc, tileSize);
+                Assert.assertEquals(expected.getTileAddress(), tile.getTileAddress());
+                Assert.assertEquals(olc.getCode(), tile.getWrappedOpenLocationCode().getCode());
+                Assert.assertSame(tile.getWrappedOpenLocationCode(),
+                        tile.getWrappedOpenLocationCode());
+            }
+        }
+    }
+
+    @Test
+    public void testConsistentNearTileEdges() {
+        //just below tile edges, where OLC and a naive conversion round differently
+        double[][] locations = {{-47.407875000001, -151.9725}, {-47.4078749999999, 8.0001249999},
+                {19.9999999999, -0.0000000001}, {-0.000124999999, 179.9998749999}};
+        for (double[] location : locations) {
+            for (OpenGeoTile.TileSize tileSize : OpenGeoTile.TileSize.values()) {
+                OpenGeoTile tile = new OpenGeoTile(location[0], location[1], tileSize);
+                String code = tile.getWrappedOpenLocationCode().getCode().replace("+", "");
+                Assert.assertEquals(code.substring(0, tileSize.getCodeLength()),
+                        tile.getTileAddress());
+            }
+        }
+        Assert.assertEquals("434CH2RH+R2", new OpenGeoTile(-47.407875000001, -151.9725,
+                OpenGeoTile.TileSize.PINPOINT).getWrappedOpenLocationCode().getCode());
+    }
+
+    @Test
+    public void testWrappedCodes() {
+        //neighbors of a tile address wrap the code of their center
+        int found = 0;
+        for (OpenGeoTile n : new OpenGeoTile("8FVC9G").getNeighbors()) {
+            if (n.getTileAddress().equals("8FVCCF")) {
+                Assert.assertEquals("8FVCCFGG+22", n.getWrappedOpenLocationCode().getCode());
+                found++;
+            }
+        }
+        Assert.assertEquals(1, found);
+
+        //neighbors of coordinates wrap the same location, moved by one tile, whether or not the
+        //code of these coordinates has already been created
+        OpenGeoTile tile = new OpenGeoTile(47.36545, 8.52475, OpenGeoTile.TileSize.DISTRICT);
+        OpenGeoTile[] lazy = tile.getNeighbors();
+        OpenLocationCode.CodeArea area = tile.getWrappedOpenLocationCode().decode();
+        OpenGeoTile[] eager = tile.getNeighbors();
+        Assert.assertEquals("8FVCCF8F+5W", lazy[0].getWrappedOpenLocationCode().getCode());
+        Assert.assertEquals(new OpenLocationCode(area.getCenterLatitude() + 0.05,
+                        area.getCenterLongitude() - 0.05, 10).getCode(),
+                lazy[0].getWrappedOpenLocationCode().getCode());
+        for (int i = 0; i < lazy.length; i++) {
+            Assert.assertEquals(eager[i].getWrappedOpenLocationCode().getCode(),
+                    lazy[i].getWrappedOpenLocationCode().getCode());
+        }
+
+        //any coordinates are kept, even invalid ones
+        OpenGeoTile invalid = new OpenGeoTile(Double.NaN, 0, OpenGeoTile.TileSize.REGION);
+        Assert.assertEquals(new OpenLocationCode(Double.NaN, 0, 10).getCode(),
+                invalid.getWrappedOpenLocationCode().getCode());
+    }
+
+    @Test
+    public void testSharedInstances() {
+        OpenGeoTileCache cache = new OpenGeoTileCache(1000);
+        OpenGeoTile tile = cache.get("8CFFXX");
+        Assert.assertSame(tile, cache.get("8CFFXX"));
+        Assert.assertSame(tile, cache.get(TileKey.fromAddress("8CFFXX")));
+        Assert.assertEquals("8CFFXX", tile.getTileAddress());
+        Assert.assertEquals("8CFFXX00+", tile.getWrappedOpenLocationCode().getCode());
+
+        OpenGeoTile[] neighbors = cache.getNeighbors(tile);
+        OpenGeoTile[] expected = tile.getNeighbors();
+        Assert.assertEquals(expected.length, neighbors.length);
+        for (int i = 0; i < neighbors.length; i++) {
+            Assert.assertTrue(expected[i].isSameTile(neighbors[i]));
+            Assert.assertSame(neighbors[i], cache.get(neighbors[i].getTileAddress()));
+        }
+        Assert.assertSame(neighbors[0], cache.getNeighbors(tile)[0]);
+
+        Assert.assertEquals(9, cache.size());
+        Assert.assertEquals(9, cache.getMissCount());
+        Assert.assertEquals(2 + 8 + 8, cache.getHitCount());
+        Assert.assertEquals(18.0 / 27.0, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void testEviction() {
+        OpenGeoTileCache cache = new OpenGeoTileCache(1000);
+        for (int i = 0; i < 2000; i++) {
+            cache.get(TileKey.fromIndices(i / 360, i % 360, OpenGeoTile.TileSize.REGION));
+        }
+        Assert.assertEquals(1000, cache.size());
+        Assert.assertEquals(1000, cache.getEvictionCount());
+
+        //recently used tiles are kept
+        long recent = TileKey.fromIndices(1999 / 360, 1999 % 360, OpenGeoTile.TileSize.REGION);
+        cache.get(recent);
+        Assert.assertEquals(1, cache.getHitCount());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getHitRate(), 0);
+    }
+
+    @Test
+    public void testSmallCache() {
+        OpenGeoTileCache cache = new OpenGeoTileCache(2);
+        cache.get("8C");
+        cache.get("8F");
+        cache.get("8C");
+        cache.get("9C");
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertSame(cache.get("8C"), cache.get("8C"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() {
+        new OpenGeoTileCache(0);
+    }
+}
@@ -0,0 +1,100 @@
+package org.bocops.opengeotiling;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class ClusteringTest {
+
+    private static long[] keys(String... addresses) {
+        long[] keys = new long[addresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            keys[i] = TileKey.fromAddress(addresses[i]);
+        }
+        return keys;
+    }
+
+    @Test
+    public void testConnectivity() {
+        //two diagonal tiles, and one far away
+        long[] keys = keys("8CRW2X", "8CRW3W", "9F53XX");
+
+        TileClustering eight = TileClustering.cluster(keys, TileClustering.Connectivity.EIGHT);
+        Assert.assertEquals(2, eight.getClusterCount());
+        Assert.assertEquals(eight.getCluster(keys[0]), eight.getCluster(keys[1]));
+
+        TileClustering four = TileClustering.cluster(keys, TileClustering.Connectivity.FOUR);
+        Assert.assertEquals(3, four.getClusterCount());
+        Assert.assertEquals(-1, four.getCluster(TileKey.fromAddress("8CRW2W")));
+    }
+
+    @Test
+    public void testClusterWrapping() {
+        //adjacent across the antimeridian and across GLOBAL partition borders
+        long[] keys = keys("8VXX", "82X2", "8V2X", "8VXX");
+        TileClustering clustering = TileClustering.cluster(keys,
+                TileClustering.Connectivity.FOUR, OpenGeoTile.TileSize.GLOBAL);
+        Assert.assertEquals(3, clustering.getTileCount());
+        Assert.assertEquals(2, clustering.getClusterCount());
+        Assert.assertArrayEquals(new int[]{1, 2}, sorted(clustering.getClusterSizes()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMixedSizes() {
+        TileClustering.cluster(keys("8CRW2X", "8CRW"), TileClustering.Connectivity.EIGHT);
+    }
+
+    @Test
+    public void testSameAsNeighborSearch() {
+        //compare against a plain search using getNeighbors()
+        Random random = new Random(7);
+        Set<String> addresses = new HashSet<>();
+        while (addresses.size() < 800) {
+            double latitude = 47.0 + random.nextDouble() * 0.1;
+            double longitude = 8.0 + random.nextDouble() * 0.1;
+            addresses.add(new OpenGeoTile(latitude, longitude,
+                    OpenGeoTile.TileSize.NEIGHBORHOOD).getTileAddress());
+        }
+
+        Set<String> unvisited = new HashSet<>(addresses);
+        List<Integer> expectedSizes = new ArrayList<>();
+        while (!unvisited.isEmpty()) {
+            String start = unvisited.iterator().next();
+            unvisited.remove(start);
+            ArrayDeque<String> queue = new ArrayDeque<>();
+            queue.add(start);
+            int size = 0;
+            while (!queue.isEmpty()) {
+                size++;
+                for (OpenGeoTile n : new OpenGeoTile(queue.poll()).getNeighbors()) {
+                    if (unvisited.remove(n.getTileAddress())) {
+                        queue.add(n.getTileAddress());
+                    }
+                }
+            }
+            expectedSizes.add(size);
+        }
+
+        TileClustering clustering = TileClustering.cluster(
+                keys(addresses.toArray(new String[0])), TileClustering.Connectivity.EIGHT,
+                OpenGeoTile.TileSize.DISTRICT);
+        int[] expected = new int[expectedSizes.size()];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = expectedSizes.get(i);
+        }
+        Assert.assertArrayEquals(sorted(expected), sorted(clustering.getClusterSizes()));
+    }
+
+    private static int[] sorted(int[] values) {
+        int[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,151 @@
+package org.bocops.opengeotiling;
+
+import com.google.openlocationcode.OpenLocationCode;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+
+public class MetricsTest {
+
+    @After
+    public void removeListener() {
+        if (TileMetrics.isEnabled()) {
+            TileMetrics.setListener(null);
+        }
+    }
+
+    @Test
+    public void testCollectorCounts() {
+        TileMetricsCollector collector = new TileMetricsCollector();
+        collector.onOperation(TileMetrics.Operation.OLC_DECODE);
+        collector.onOperation(TileMetrics.Operation.OLC_DECODE);
+        collector.onCall(TileMetrics.Call.CONTAINS, 100);
+
+        Assert.assertEquals(2, collector.getCount(TileMetrics.Operation.OLC_DECODE));
+        Assert.assertEquals(0, collector.getCount(TileMetrics.Operation.OLC_ENCODE));
+        Assert.assertEquals(1, collector.getCount(TileMetrics.Call.CONTAINS));
+        Assert.assertEquals(100, collector.getAverageNanos(TileMetrics.Call.CONTAINS), 1e-9);
+
+        collector.reset();
+        Assert.assertEquals(0, collector.getCount(TileMetrics.Operation.OLC_DECODE));
+        Assert.assertEquals(0, collector.getCount(TileMetrics.Call.CONTAINS));
+    }
+
+    @Test
+    public void testCollectorPercentiles() {
+        TileMetricsCollector collector = new TileMetricsCollector();
+        Assert.assertEquals(0, collector.getPercentileNanos(TileMetrics.Call.IS_NEIGHBOR, 50));
+
+        for (int i = 0; i < 90; i++) {
+            collector.onCall(TileMetrics.Call.IS_NEIGHBOR, 100);
+        }
+        for (int i = 0; i < 10; i++) {
+            collector.onCall(TileMetrics.Call.IS_NEIGHBOR, 10000);
+        }
+
+        //upper bounds within a factor of two
+        long p50 = collector.getPercentileNanos(TileMetrics.Call.IS_NEIGHBOR, 50);
+        long p99 = collector.getPercentileNanos(TileMetrics.Call.IS_NEIGHBOR, 99);
+        Assert.assertTrue(p50 >= 100 && p50 < 200);
+        Assert.assertTrue(p99 >= 10000 && p99 < 20000);
+        Assert.assertEquals(p50, collector.getPercentileNanos(TileMetrics.Call.IS_NEIGHBOR, 90));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        new TileMetricsCollector().getPercentileNanos(TileMetrics.Call.CONTAINS, 101);
+    }
+
+    @Test
+    public void testDisabled() {
+        Assume.assumeFalse(TileMetrics.isEnabled());
+        try {
+            TileMetrics.setListener(new TileMetricsCollector());
+            Assert.fail("Listener set although metrics are disabled");
+        } catch (IllegalStateException e) {
+            Assert.assertNull(TileMetrics.getListener());
+        }
+    }
+
+    @Test
+    public void testInstrumentation() throws Exception {
+        if (!TileMetrics.isEnabled()) {
+            //the switch is read once per JVM, so check in a JVM that has it set
+            String java = System.getProperty("java.home") + File.separator + "bin"
+                    + File.separator + "java";
+            Process process = new ProcessBuilder(java, "-D" + TileMetrics.PROPERTY + "=true",
+                    "-cp", System.getProperty("java.class.path"),
+                    "org.junit.runner.JUnitCore", MetricsTest.class.getName())
+                    .redirectErrorStream(true)
+                    .start();
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            InputStream in = process.getInputStream();
+            byte[] buffer = new byte[4096];
+            for (int n; (n = in.read(buffer)) > 0; ) {
+                output.write(buffer, 0, n);
+            }
+            Assert.assertEquals(output.toString("UTF-8"), 0, process.waitFor());
+            return;
+        }
+
+        TileMetricsCollector collector = new TileMetricsCollector();
+        TileMetrics.setListener(collector);
+
+        OpenGeoTile big = new OpenGeoTile("8CFF");
+        OpenGeoTile small = new OpenGeoTile("8CFG22");
+        Assert.assertEquals(2, collector.getCount(TileMetrics.Operation.OLC_PARSE));
+        Assert.assertEquals(2, collector.getCount(TileMetrics.Operation.STRING_ALLOCATION));
+
+        collector.reset();
+        Assert.assertTrue(big.isNeighbor(small));
+        Assert.assertEquals(1, collector.getCount(TileMetrics.Call.IS_NEIGHBOR));
+        Assert.assertEquals(1, collector.getCount(TileMetrics.Call.GET_NEIGHBORS));
+        Assert.assertEquals(1, collector.getCount(TileMetrics.Operation.NEIGHBOR_EXPANSION));
+        Assert.assertEquals(0, collector.getCount(TileMetrics.Operation.OLC_ENCODE));
+        Assert.assertTrue(collector.getCount(TileMetrics.Call.CONTAINS) >= 2);
+
+        collector.reset();
+        big.getManhattanTileDistanceTo(big);
+        big.getChebyshevTileDistanceTo(big);
+        big.getDirection(big);
+        Assert.assertEquals(1, collector.getCount(TileMetrics.Call.MANHATTAN_DISTANCE));
+        Assert.assertEquals(1, collector.getCount(TileMetrics.Call.CHEBYSHEV_DISTANCE));
+        Assert.assertEquals(1, collector.getCount(TileMetrics.Call.DIRECTION));
+
+        TileMetrics.setListener(null);
+        big.getNeighbors();
+        Assert.assertEquals(0, collector.getCount(TileMetrics.Call.GET_NEIGHBORS));
+        Assert.assertEquals(0, TileMetrics.start());
+    }
+
+    @Test
+    public void testStringAllocations() {
+        Assume.assumeTrue(TileMetrics.isEnabled()); //runs as part of testInstrumentation()
+        TileMetricsCollector collector = new TileMetricsCollector();
+        TileMetrics.setListener(collector);
+
+        //two substrings and the padded code
+        new OpenGeoTile("8CFFXXHH22");
+        Assert.assertEquals(3, collector.getCount(TileMetrics.Operation.STRING_ALLOCATION));
+
+        //separator, code without separator, and address; only once per tile
+        OpenLocationCode olc = new OpenLocationCode("8CFFXXHH+22");
+        OpenGeoTile region = new OpenGeoTile(olc, OpenGeoTile.TileSize.REGION);
+        collector.reset();
+        region.getTileAddress();
+        region.getTileAddress();
+        Assert.assertEquals(3, collector.getCount(TileMetrics.Operation.STRING_ALLOCATION));
+
+        //the code without separator is the address already
+        OpenGeoTile pinpoint = new OpenGeoTile(olc, OpenGeoTile.TileSize.PINPOINT);
+        collector.reset();
+        pinpoint.getTileAddress();
+        Assert.assertEquals(2, collector.getCount(TileMetrics.Operation.STRING_ALLOCATION));
+    }
+}
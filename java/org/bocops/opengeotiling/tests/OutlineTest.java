@@ -0,0 +1,153 @@
+package org.bocops.opengeotiling;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class OutlineTest {
+
+    private static long[] block(String region, boolean withCenter) {
+        //3x3 DISTRICT tiles in the middle of a REGION tile
+        List<Long> keys = new ArrayList<>();
+        long center = TileKey.fromAddress(region + "CC");
+        for (int lat = -1; lat <= 1; lat++) {
+            for (int lng = -1; lng <= 1; lng++) {
+                if (withCenter || lat != 0 || lng != 0) {
+                    keys.add(TileKey.getNeighbor(center, lat, lng));
+                }
+            }
+        }
+        long[] result = new long[keys.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = keys.get(i);
+        }
+        return result;
+    }
+
+    private static long area(TilePolygon polygon, int ring) {
+        long area = 0;
+        int n = polygon.getVertexCount(ring);
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            area += (long) polygon.getX(ring, i) * polygon.getY(ring, j)
+                    - (long) polygon.getX(ring, j) * polygon.getY(ring, i);
+        }
+        return area / 2;
+    }
+
+    @Test
+    public void testSingleTile() {
+        List<TilePolygon> polygons = TileOutline.trace(new long[]{TileKey.fromAddress("8CFF")});
+        Assert.assertEquals(1, polygons.size());
+        Assert.assertEquals(1, polygons.get(0).getRingCount());
+        Assert.assertEquals(4, polygons.get(0).getVertexCount(0));
+        Assert.assertEquals(8000L * 8000L, area(polygons.get(0), 0));
+        Assert.assertEquals(39.0, polygons.get(0).getLatitude(0, 0), 1e-9);
+        Assert.assertEquals(-11.0, polygons.get(0).getLongitude(0, 0), 1e-9);
+    }
+
+    @Test
+    public void testBlock() {
+        List<TilePolygon> polygons = TileOutline.trace(block("8CFF", true));
+        Assert.assertEquals(1, polygons.size());
+        Assert.assertEquals(1, polygons.get(0).getRingCount());
+        Assert.assertEquals(4, polygons.get(0).getVertexCount(0));
+    }
+
+    @Test
+    public void testHole() {
+        List<TilePolygon> polygons = TileOutline.trace(block("8CFF", false));
+        Assert.assertEquals(1, polygons.size());
+        TilePolygon polygon = polygons.get(0);
+        Assert.assertEquals(2, polygon.getRingCount());
+        Assert.assertEquals(4, polygon.getVertexCount(1));
+        Assert.assertTrue(area(polygon, 0) > 0);
+        Assert.assertEquals(-400L * 400L, area(polygon, 1));
+    }
+
+    @Test
+    public void testMixedSizes() {
+        //a REGION tile, a DISTRICT tile along its eastern edge, a NEIGHBORHOOD tile contained in
+        //the REGION tile, and a PINPOINT tile touching the REGION tile only at its corner
+        long region = TileKey.fromAddress("8CFF");
+        long district = TileKey.fromAddress("8CFGC2");
+        long contained = TileKey.fromAddress("8CFF2222");
+        long corner = TileKey.fromCoordinates(40.00006, -9.99994, OpenGeoTile.TileSize.PINPOINT);
+        List<TilePolygon> polygons = TileOutline.trace(
+                new long[]{region, district, contained, corner});
+
+        Assert.assertEquals(2, polygons.size());
+        long total = 0;
+        for (TilePolygon polygon : polygons) {
+            Assert.assertEquals(1, polygon.getRingCount());
+            total += area(polygon, 0);
+        }
+        Assert.assertEquals(8000L * 8000L + 400L * 400L + 1, total);
+        //REGION and DISTRICT tiles merge into one polygon, the PINPOINT tile stays separate
+        Assert.assertEquals(8, polygons.get(0).getVertexCount(0));
+        Assert.assertEquals(4, polygons.get(1).getVertexCount(0));
+    }
+
+    @Test
+    public void testDiagonalTilesAreSeparate() {
+        List<TilePolygon> polygons = TileOutline.trace(new long[]{
+                TileKey.fromAddress("8CRW2X"), TileKey.fromAddress("8CRW3W")});
+        Assert.assertEquals(2, polygons.size());
+    }
+
+    @Test
+    public void testPinchedHole() {
+        //without its north eastern tile, the hole in the block touches the outside at a corner
+        long[] block = block("8CFF", false);
+        long corner = TileKey.getNeighbor(TileKey.fromAddress("8CFFCC"), 1, 1);
+        long[] keys = new long[block.length - 1];
+        int n = 0;
+        for (long key : block) {
+            if (key != corner) {
+                keys[n++] = key;
+            }
+        }
+
+        List<TilePolygon> polygons = TileOutline.trace(keys);
+        Assert.assertEquals(1, polygons.size());
+        TilePolygon polygon = polygons.get(0);
+        Assert.assertEquals(2, polygon.getRingCount());
+        Assert.assertEquals(8 * 400L * 400L, area(polygon, 0));
+        Assert.assertEquals(-400L * 400L, area(polygon, 1));
+
+        //no ring passes through the same vertex twice
+        for (int ring = 0; ring < polygon.getRingCount(); ring++) {
+            Set<Long> vertices = new HashSet<>();
+            for (int i = 0; i < polygon.getVertexCount(ring); i++) {
+                Assert.assertTrue(vertices.add(
+                        ((long) polygon.getX(ring, i) << 32) | polygon.getY(ring, i)));
+            }
+        }
+    }
+
+    @Test
+    public void testGeoJson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GeoJsonWriter writer = new GeoJsonWriter(out)) {
+            writer.writeTile(new OpenGeoTile("8CFF"));
+            writer.writePolygon(TileOutline.trace(
+                    new long[]{TileKey.fromAddress("8CFF22222X")}).get(0));
+        }
+
+        String expected = "{\"type\":\"FeatureCollection\",\"features\":["
+                + "{\"type\":\"Feature\",\"properties\":{\"address\":\"8CFF\"},"
+                + "\"geometry\":{\"type\":\"Polygon\",\"coordinates\":"
+                + "[[[-11,39],[-10,39],[-10,40],[-11,40],[-11,39]]]}},"
+                + "{\"type\":\"Feature\",\"properties\":{},"
+                + "\"geometry\":{\"type\":\"Polygon\",\"coordinates\":"
+                + "[[[-10.997625,39],[-10.9975,39],[-10.9975,39.000125],"
+                + "[-10.997625,39.000125],[-10.997625,39]]]}}]}";
+        Assert.assertEquals(expected, new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,154 @@
+package org.bocops.opengeotiling;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class PartitionerTest {
+
+    static final int NODES = 8;
+
+    static long[] keys;
+    static double[] weights;
+
+    @BeforeClass
+    public static void setupWeights() {
+        //NEIGHBORHOOD tiles over a large area, with a few hotspots carrying most of the load
+        Random random = new Random(11);
+        int n = 20000;
+        keys = new long[n];
+        weights = new double[n];
+        double[][] hotspots = {{47.37, 8.54}, {52.52, 13.40}, {48.86, 2.35}};
+        for (int i = 0; i < n; i++) {
+            double latitude;
+            double longitude;
+            if (i % 2 == 0) {
+                double[] hotspot = hotspots[random.nextInt(hotspots.length)];
+                latitude = hotspot[0] + random.nextGaussian() * 0.05;
+                longitude = hotspot[1] + random.nextGaussian() * 0.05;
+                weights[i] = 50;
+            } else {
+                latitude = 40 + random.nextDouble() * 20;
+                longitude = -5 + random.nextDouble() * 25;
+                weights[i] = 1;
+            }
+            keys[i] = TileKey.fromCoordinates(latitude, longitude,
+                    OpenGeoTile.TileSize.NEIGHBORHOOD);
+        }
+    }
+
+    //simulate one node per partition, and collect the load each of them receives
+    private static double[] simulate(TilePartitioner partitioner, double[] w) {
+        double[] load = new double[partitioner.getPartitionCount()];
+        for (int i = 0; i < keys.length; i++) {
+            load[partitioner.getPartition(keys[i])] += w[i];
+        }
+        return load;
+    }
+
+    private static void assertBalanced(double[] load, double tolerance) {
+        double total = 0;
+        for (double l : load) {
+            total += l;
+        }
+        double ideal = total / load.length;
+        for (double l : load) {
+            //each partition has two boundaries that may deviate
+            Assert.assertEquals(ideal, l, 2 * tolerance * ideal + 1e-9);
+        }
+    }
+
+    @Test
+    public void testBalance() {
+        TilePartitioner partitioner = TilePartitioner.create(keys, weights, NODES);
+        Assert.assertEquals(NODES, partitioner.getPartitionCount());
+        assertBalanced(simulate(partitioner, weights), TilePartitioner.DEFAULT_TOLERANCE);
+    }
+
+    @Test
+    public void testContiguousAndLocal() {
+        TilePartitioner partitioner = TilePartitioner.create(keys, weights, NODES);
+
+        //partitions are ascending in key order, and bigger tiles go where they start
+        long[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        int previous = 0;
+        for (long key : sorted) {
+            int partition = partitioner.getPartition(key);
+            Assert.assertTrue(partition >= previous);
+            previous = partition;
+
+            long parent = TileKey.getParent(key, OpenGeoTile.TileSize.GLOBAL);
+            Assert.assertTrue(partitioner.getPartition(parent) <= partition);
+        }
+
+        //most neighbors end up on the same node
+        int same = 0;
+        int total = 0;
+        for (long key : keys) {
+            long neighbor = TileKey.getNeighbor(key, 0, 1);
+            total++;
+            if (partitioner.getPartition(key) == partitioner.getPartition(neighbor)) {
+                same++;
+            }
+        }
+        Assert.assertTrue(same > 0.95 * total);
+    }
+
+    @Test
+    public void testRebalance() {
+        TilePartitioner partitioner = TilePartitioner.create(keys, weights, NODES);
+
+        //unchanged weights don't move anything
+        TilePartitioner same = partitioner.rebalance(keys, weights);
+        Assert.assertEquals(0, partitioner.countMovedTiles(same, keys));
+
+        //one hotspot cools down
+        double[] updated = weights.clone();
+        for (int i = 0; i < keys.length; i++) {
+            if (updated[i] > 1 && TileKey.toAddress(keys[i]).startsWith("9F4")) {
+                updated[i] = 10;
+            }
+        }
+        TilePartitioner rebalanced = partitioner.rebalance(keys, updated);
+        assertBalanced(simulate(rebalanced, updated), TilePartitioner.DEFAULT_TOLERANCE);
+
+        TilePartitioner fresh = TilePartitioner.create(keys, updated, NODES);
+        Assert.assertTrue(partitioner.countMovedTiles(rebalanced, keys)
+                <= partitioner.countMovedTiles(fresh, keys));
+    }
+
+    @Test
+    public void testMixedSizes() {
+        String[] addresses = {"8FVC", "8FVC22", "8FVC2222", "9F", "9F2222"};
+        long[] mixed = new long[addresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            mixed[i] = TileKey.fromAddress(addresses[i]);
+        }
+        double[] ones = {1, 1, 1, 1, 1};
+        TilePartitioner partitioner = TilePartitioner.create(mixed, ones, 3);
+        Assert.assertEquals(3, partitioner.getPartitionCount());
+
+        //every tile in exactly one partition, in key order
+        int last = 0;
+        for (long key : mixed) {
+            int partition = partitioner.getPartition(key);
+            Assert.assertTrue(partition >= last && partition < 3);
+            last = partition;
+        }
+        Assert.assertEquals(2, last);
+        Assert.assertEquals(partitioner.getPartition(TileKey.fromAddress("9F")),
+                partitioner.getPartition(TileKey.fromAddress("9F2222")));
+
+        TilePartitioner rebalanced = partitioner.rebalance(mixed, new double[]{1, 1, 1, 5, 1});
+        Assert.assertEquals(3, rebalanced.getPartitionCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooFewTiles() {
+        TilePartitioner.create(new long[]{TileKey.fromAddress("8C")}, new double[]{1}, 2);
+    }
+}
@@ -0,0 +1,149 @@
+package org.bocops.opengeotiling;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+public class SketchTest {
+
+    private static long randomPinpoint(Random random) {
+        return TileKey.fromCoordinates(random.nextDouble() * 180 - 90,
+                random.nextDouble() * 360 - 180, OpenGeoTile.TileSize.PINPOINT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T object) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
+    @Test
+    public void testHyperLogLogEstimate() {
+        Random random = new Random(42);
+        TileHyperLogLog sketch = new TileHyperLogLog();
+        Assert.assertTrue(sketch.isEmpty());
+        Assert.assertEquals(0, sketch.estimate());
+
+        int count = 200000;
+        for (int i = 0; i < count; i++) {
+            long key = randomPinpoint(random);
+            sketch.add(key);
+            sketch.add(key); //duplicates don't count
+        }
+        double error = Math.abs(sketch.estimate() - count) / (double) count;
+        Assert.assertTrue(error < 3 * sketch.getStandardError());
+    }
+
+    @Test
+    public void testHyperLogLogSmallCounts() {
+        TileHyperLogLog sketch = new TileHyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            sketch.add(TileKey.fromIndices(i, i, OpenGeoTile.TileSize.DISTRICT));
+        }
+        Assert.assertEquals(100, sketch.estimate(), 2);
+    }
+
+    @Test
+    public void testHyperLogLogLevel() {
+        //all PINPOINT tiles of three REGION tiles
+        TileHyperLogLog sketch = new TileHyperLogLog(10, OpenGeoTile.TileSize.REGION);
+        Random random = new Random(7);
+        for (int i = 0; i < 10000; i++) {
+            sketch.add(new OpenGeoTile(47 + random.nextDouble() * 3, 8.5,
+                    OpenGeoTile.TileSize.PINPOINT));
+        }
+        Assert.assertEquals(3, sketch.estimate());
+    }
+
+    @Test
+    public void testHyperLogLogMerge() throws Exception {
+        Random random = new Random(1);
+        TileHyperLogLog all = new TileHyperLogLog();
+        TileHyperLogLog first = new TileHyperLogLog();
+        TileHyperLogLog second = new TileHyperLogLog();
+        for (int i = 0; i < 50000; i++) {
+            long key = randomPinpoint(random);
+            all.add(key);
+            (i % 2 == 0 ? first : second).add(key);
+        }
+
+        TileHyperLogLog merged = roundTrip(first);
+        merged.merge(roundTrip(second));
+        Assert.assertEquals(all.estimate(), merged.estimate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHyperLogLogMismatch() {
+        new TileHyperLogLog(12, null).merge(new TileHyperLogLog(12, OpenGeoTile.TileSize.REGION));
+    }
+
+    @Test
+    public void testMinHashSimilarity() {
+        //two sets of 20000 tiles sharing 10000, i.e. a similarity of 1/3
+        Random random = new Random(3);
+        TileMinHash a = new TileMinHash();
+        TileMinHash b = new TileMinHash();
+        Assert.assertEquals(1.0, a.getJaccardSimilarity(b), 0);
+        for (int i = 0; i < 30000; i++) {
+            long key = randomPinpoint(random);
+            if (i < 20000) {
+                a.add(key);
+            }
+            if (i >= 10000) {
+                b.add(key);
+            }
+        }
+        Assert.assertEquals(1.0 / 3, a.getJaccardSimilarity(b), 3 * a.getStandardError());
+        Assert.assertEquals(1.0, a.getJaccardSimilarity(a), 0);
+        Assert.assertEquals(0.0, a.getJaccardSimilarity(new TileMinHash()), 0);
+    }
+
+    @Test
+    public void testMinHashLevel() {
+        //different PINPOINT tiles within the same NEIGHBORHOOD tiles
+        TileMinHash a = new TileMinHash(64, OpenGeoTile.TileSize.NEIGHBORHOOD);
+        TileMinHash b = new TileMinHash(64, OpenGeoTile.TileSize.NEIGHBORHOOD);
+        OpenGeoTile[] neighborhoods = {new OpenGeoTile("8FVC9G8F"), new OpenGeoTile("8FVC9G8G")};
+        for (OpenGeoTile neighborhood : neighborhoods) {
+            long key = TileKey.of(neighborhood);
+            a.add(TileKey.fromIndices(TileKey.getLatitudeIndex(key) * 20,
+                    TileKey.getLongitudeIndex(key) * 20, OpenGeoTile.TileSize.PINPOINT));
+            b.add(TileKey.fromIndices(TileKey.getLatitudeIndex(key) * 20 + 19,
+                    TileKey.getLongitudeIndex(key) * 20 + 7, OpenGeoTile.TileSize.PINPOINT));
+        }
+        Assert.assertEquals(1.0, a.getJaccardSimilarity(b), 0);
+    }
+
+    @Test
+    public void testMinHashMerge() throws Exception {
+        Random random = new Random(5);
+        TileMinHash all = new TileMinHash();
+        TileMinHash first = new TileMinHash();
+        TileMinHash second = new TileMinHash();
+        for (int i = 0; i < 10000; i++) {
+            long key = randomPinpoint(random);
+            all.add(key);
+            (i % 2 == 0 ? first : second).add(key);
+        }
+
+        TileMinHash merged = roundTrip(first);
+        merged.merge(roundTrip(second));
+        Assert.assertEquals(1.0, all.getJaccardSimilarity(merged), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMinHashBiggerTile() {
+        new TileMinHash(16, OpenGeoTile.TileSize.DISTRICT).add(new OpenGeoTile("8FVC"));
+    }
+}
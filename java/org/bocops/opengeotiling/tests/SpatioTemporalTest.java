@@ -0,0 +1,131 @@
+package org.bocops.opengeotiling;
+
+import org.bocops.opengeotiling.SpatioTemporalKey.TimeBucket;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class SpatioTemporalTest {
+
+    static final long HOUR = TimeBucket.HOUR.getDurationMillis();
+    static final long START = 1499515200000L; //2017-07-08 12:00 UTC
+
+    @Test
+    public void testKey() {
+        OpenGeoTile tile = new OpenGeoTile("8FVC9G8F");
+        SpatioTemporalKey key = new SpatioTemporalKey(tile, START + 1234, TimeBucket.HOUR);
+
+        Assert.assertTrue(key.getTile().isSameTile(tile));
+        Assert.assertEquals(TimeBucket.HOUR, key.getTimeBucket());
+        Assert.assertEquals(START, key.getStartMillis());
+        Assert.assertEquals(START + HOUR, key.getEndMillis());
+        Assert.assertEquals(key, SpatioTemporalKey.of(key.getTileKey(), key.getTimeKey()));
+        Assert.assertEquals(key, new SpatioTemporalKey(tile, START + HOUR - 1, TimeBucket.HOUR));
+
+        SpatioTemporalKey parent = key.getParent(OpenGeoTile.TileSize.REGION);
+        Assert.assertEquals("8FVC", parent.getTile().getTileAddress());
+        Assert.assertTrue(parent.compareTo(key) < 0);
+
+        //buckets before the epoch
+        Assert.assertEquals(-1, TimeBucket.DAY.getBucket(-1));
+        Assert.assertEquals(-1, SpatioTemporalKey.getBucket(
+                SpatioTemporalKey.toTimeKey(-1, TimeBucket.DAY)));
+        Assert.assertEquals(TimeBucket.DAY, SpatioTemporalKey.getTimeBucket(
+                SpatioTemporalKey.toTimeKey(-1, TimeBucket.DAY)));
+    }
+
+    @Test
+    public void testScans() {
+        SpatioTemporalIndex<String> index = new SpatioTemporalIndex<>(TimeBucket.HOUR, 24);
+        long region = TileKey.fromAddress("8FVC");
+        long district = TileKey.fromAddress("8FVC9G");
+        long neighborhood = TileKey.fromAddress("8FVC9G8F");
+        long elsewhere = TileKey.fromAddress("9F4MGC");
+
+        index.put(region, START, "region");
+        index.put(district, START, "district");
+        index.put(neighborhood, START + HOUR, "neighborhood");
+        index.put(elsewhere, START, "elsewhere");
+        Assert.assertEquals(4, index.size());
+
+        final List<String> found = new ArrayList<>();
+        SpatioTemporalIndex.Visitor<String> collect =
+                (tileKey, startMillis, value) -> found.add(value);
+
+        index.scan(region, START, START + 2 * HOUR, collect);
+        Assert.assertEquals("[region, district, neighborhood]", found.toString());
+
+        found.clear();
+        index.scan(district, START + HOUR, START + 2 * HOUR, collect);
+        Assert.assertEquals("[neighborhood]", found.toString());
+
+        found.clear();
+        index.scanAncestors(neighborhood, START, START + HOUR, collect);
+        Assert.assertEquals("[region, district]", found.toString());
+
+        Assert.assertEquals("district+more",
+                index.merge(district, START + 1, "more", (a, b) -> a + "+" + b));
+        Assert.assertEquals("district+more", index.put(district, START, "replaced"));
+        Assert.assertEquals(4, index.size());
+    }
+
+    @Test
+    public void testManyTiles() {
+        //scans stay sorted and complete while tables grow and tiles are added between scans
+        SpatioTemporalIndex<Long> index = new SpatioTemporalIndex<>(TimeBucket.HOUR, 2);
+        long region = TileKey.fromAddress("8FVC");
+        Random random = new Random(42);
+        List<Long> expected = new ArrayList<>();
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 1000; i++) {
+                OpenGeoTile.TileSize tileSize =
+                        OpenGeoTile.TileSize.values()[1 + random.nextInt(4)];
+                long key = TileKey.fromCoordinates(47 + random.nextDouble() * 2,
+                        8 + random.nextDouble() * 2, tileSize);
+                if (index.put(key, START, key) == null && TileKey.contains(region, key)) {
+                    expected.add(key);
+                }
+            }
+            Collections.sort(expected);
+
+            final List<Long> found = new ArrayList<>();
+            index.scan(region, START, START + HOUR, (tileKey, startMillis, value) -> {
+                Assert.assertEquals(tileKey, value.longValue());
+                found.add(tileKey);
+            });
+            Assert.assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    public void testExpiry() {
+        SpatioTemporalIndex<Integer> index = new SpatioTemporalIndex<>(TimeBucket.HOUR, 3);
+        long tile = TileKey.fromAddress("8FVC9G");
+        for (int h = 0; h < 3; h++) {
+            index.put(tile, START + h * HOUR, h);
+        }
+        Assert.assertEquals(3, index.size());
+
+        //moving one bucket forward drops exactly the oldest one
+        index.put(tile, START + 3 * HOUR, 3);
+        Assert.assertEquals(3, index.size());
+        Assert.assertNull(index.get(tile, START));
+        Assert.assertEquals(Integer.valueOf(1), index.get(tile, START + HOUR));
+
+        try {
+            index.put(tile, START, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            //expected
+        }
+
+        //jumping far ahead drops everything
+        Assert.assertEquals(3, index.advanceTo(START + 1000 * HOUR));
+        Assert.assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,110 @@
+package org.bocops.opengeotiling;
+
+import com.google.openlocationcode.OpenLocationCode;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class TileKeyTest {
+
+    @Test
+    public void testAddressRoundTrip() {
+        String[] addresses = {"8C", "8CFF", "8CFFXX", "8CFFXXHH", "8CFFXXHH2X", "22", "CV"};
+        for (String address : addresses) {
+            long key = TileKey.fromAddress(address);
+            Assert.assertEquals(address, TileKey.toAddress(key));
+            Assert.assertEquals(address.length(), TileKey.getTileSize(key).getCodeLength());
+            Assert.assertTrue(TileKey.toTile(key).isSameTile(new OpenGeoTile(address)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidAddress() {
+        TileKey.fromAddress("8CF");
+    }
+
+    @Test
+    public void testCoordinatesMatchOpenLocationCode() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+            assertMatchesOpenLocationCode(latitude, longitude);
+        }
+
+        //just below tile edges, where rounding differs in the last bits
+        double[] edges = {-47.4078750000, -47.407875000001, 0, 1e-12, -1e-12, 12.5, 89.9999};
+        for (double edge : edges) {
+            for (double offset = -1e-9; offset <= 1e-9; offset += 1e-11) {
+                assertMatchesOpenLocationCode(edge + offset, -151.9725);
+                assertMatchesOpenLocationCode(47.36, edge + offset);
+            }
+        }
+        for (int i = 0; i < 10000; i++) {
+            //random PINPOINT tile edges
+            double latitude = random.nextInt(9 * 160000) / 8000.0 - 90;
+            double longitude = random.nextInt(18 * 160000) / 8000.0 - 180;
+            assertMatchesOpenLocationCode(latitude - random.nextDouble() * 1e-9,
+                    longitude - random.nextDouble() * 1e-9);
+            assertMatchesOpenLocationCode(latitude, longitude);
+        }
+
+        //clipping and normalization
+        String pole = new OpenLocationCode(90, 180, 10).getCode().replace("+", "");
+        Assert.assertEquals(pole, TileKey.toAddress(
+                TileKey.fromCoordinates(90, 180, OpenGeoTile.TileSize.PINPOINT)));
+        assertMatchesOpenLocationCode(-90, -180);
+        assertMatchesOpenLocationCode(95, 400.5);
+        assertMatchesOpenLocationCode(-100, -540.25);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInfiniteLongitude() {
+        TileKey.fromCoordinates(0, Double.POSITIVE_INFINITY, OpenGeoTile.TileSize.REGION);
+    }
+
+    private static void assertMatchesOpenLocationCode(double latitude, double longitude) {
+        String code = new OpenLocationCode(latitude, longitude, 10).getCode().replace("+", "");
+        for (OpenGeoTile.TileSize tileSize : OpenGeoTile.TileSize.values()) {
+            Assert.assertEquals(code.substring(0, tileSize.getCodeLength()), TileKey.toAddress(
+                    TileKey.fromCoordinates(latitude, longitude, tileSize)));
+        }
+    }
+
+    @Test
+    public void testOrderingAndContainment() {
+        long big = TileKey.fromAddress("8CFF");
+        long small = TileKey.fromAddress("8CFFXX");
+        long tiny = TileKey.fromAddress("8CFFXXHH");
+        long other = TileKey.fromAddress("8CFG22");
+
+        Assert.assertTrue(big < small);
+        Assert.assertTrue(small < tiny);
+        Assert.assertTrue(TileKey.contains(big, tiny));
+        Assert.assertTrue(TileKey.contains(big, big));
+        Assert.assertFalse(TileKey.contains(small, big));
+        Assert.assertFalse(TileKey.contains(big, other));
+        Assert.assertTrue(other >= TileKey.getRangeEnd(big));
+        Assert.assertEquals(big, TileKey.getParent(tiny, OpenGeoTile.TileSize.REGION));
+    }
+
+    @Test
+    public void testNeighbors() {
+        OpenGeoTile tile = new OpenGeoTile("8CRW2X");
+        long key = TileKey.of(tile);
+        for (OpenGeoTile neighbor : tile.getNeighbors()) {
+            int latDiff = TileKey.getLatitudeIndex(TileKey.of(neighbor))
+                    - TileKey.getLatitudeIndex(key);
+            int lngDiff = TileKey.getLongitudeIndex(TileKey.of(neighbor))
+                    - TileKey.getLongitudeIndex(key);
+            Assert.assertEquals(TileKey.of(neighbor), TileKey.getNeighbor(key, latDiff, lngDiff));
+        }
+
+        //wrapping at the antimeridian, but not across the poles
+        Assert.assertEquals("82", TileKey.toAddress(
+                TileKey.getNeighbor(TileKey.fromAddress("8V"), 0, 1)));
+        Assert.assertEquals(TileKey.NO_TILE, TileKey.getNeighbor(TileKey.fromAddress("CC"), 1, 0));
+    }
+}
@@ -0,0 +1,230 @@
+package org.bocops.opengeotiling;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+public class WindowAggregationTest {
+
+    static final long SECOND = 1000;
+
+    //feed events through an aggregator and collect all published windows
+    private static List<TileWindow> aggregate(TileWindowAggregator aggregator,
+                                              List<TileEvent> events) throws Exception {
+        final List<TileWindow> windows = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> done = aggregator.consume(windows::add);
+        try (SubmissionPublisher<TileEvent> source = new SubmissionPublisher<>()) {
+            source.subscribe(aggregator);
+            for (TileEvent event : events) {
+                source.submit(event);
+            }
+        }
+        done.get(10, TimeUnit.SECONDS);
+        return windows;
+    }
+
+    @Test
+    public void testTumblingWindows() throws Exception {
+        List<TileEvent> events = new ArrayList<>();
+        OpenGeoTile tile = new OpenGeoTile("8FVC9G8F");
+        events.add(TileEvent.of(47.365, 8.525, 1 * SECOND, 2.0));
+        events.add(TileEvent.of(47.365, 8.525, 2 * SECOND, 4.0));
+        events.add(TileEvent.of(tile, 3 * SECOND, 6.0));
+        events.add(TileEvent.of(new OpenGeoTile("8FVC9G8F2X"), 12 * SECOND, 1.0));
+        events.add(TileEvent.of(tile, 5 * SECOND, 1.0)); //too late, window already published
+
+        TileWindowAggregator aggregator = new TileWindowAggregator(
+                OpenGeoTile.TileSize.NEIGHBORHOOD, 10 * SECOND);
+        List<TileWindow> windows = aggregate(aggregator, events);
+
+        Assert.assertEquals(2, windows.size());
+        Assert.assertEquals(1, aggregator.getDroppedEventCount());
+
+        TileWindow first = windows.get(0);
+        Assert.assertEquals(0, first.getStartMillis());
+        Assert.assertEquals(10 * SECOND, first.getEndMillis());
+        Assert.assertEquals(2, first.getTileCount());
+
+        int i = first.getTileKey(0) == TileKey.of(tile) ? 0 : 1;
+        Assert.assertEquals(1, first.getCount(i));
+        Assert.assertEquals(6.0, first.getSum(i), 1e-9);
+        Assert.assertEquals(2, first.getCount(1 - i));
+        Assert.assertEquals(3.0, first.getAverage(1 - i), 1e-9);
+        Assert.assertEquals(2.0, first.getMin(1 - i), 1e-9);
+        Assert.assertEquals(4.0, first.getMax(1 - i), 1e-9);
+
+        TileWindow second = windows.get(1);
+        Assert.assertEquals(10 * SECOND, second.getStartMillis());
+        Assert.assertEquals(TileKey.of(tile), second.getTileKey(0));
+    }
+
+    @Test
+    public void testSlidingWindows() throws Exception {
+        List<TileEvent> events = new ArrayList<>();
+        for (int s = 0; s < 30; s++) {
+            events.add(TileEvent.of(47.365, 8.525, s * SECOND, 1.0));
+        }
+
+        //windows of 10 seconds, every 5 seconds
+        List<TileWindow> windows = aggregate(new TileWindowAggregator(
+                OpenGeoTile.TileSize.DISTRICT, 10 * SECOND, 5 * SECOND,
+                ForkJoinPool.commonPool(), Flow.defaultBufferSize()), events);
+
+        Assert.assertEquals(7, windows.size());
+        Assert.assertEquals(-5 * SECOND, windows.get(0).getStartMillis());
+        Assert.assertEquals(5, windows.get(0).getCount(0));
+        for (int w = 1; w < 6; w++) {
+            Assert.assertEquals((w - 1) * 5 * SECOND, windows.get(w).getStartMillis());
+            Assert.assertEquals(10, windows.get(w).getCount(0));
+        }
+        Assert.assertEquals(5, windows.get(6).getCount(0));
+    }
+
+    @Test
+    public void testLateEventInSlidingWindow() throws Exception {
+        List<TileEvent> events = new ArrayList<>();
+        events.add(TileEvent.of(47.365, 8.525, 1 * SECOND, 1.0));
+        events.add(TileEvent.of(47.365, 8.525, 7 * SECOND, 1.0));
+        //window [-5s, 5s) has been published, so this is late even though [0s, 10s) is open
+        events.add(TileEvent.of(47.365, 8.525, 3 * SECOND, 1.0));
+
+        TileWindowAggregator aggregator = new TileWindowAggregator(
+                OpenGeoTile.TileSize.DISTRICT, 10 * SECOND, 5 * SECOND,
+                ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+        List<TileWindow> windows = aggregate(aggregator, events);
+
+        Assert.assertEquals(1, aggregator.getDroppedEventCount());
+        Assert.assertEquals(3, windows.size());
+        Assert.assertEquals(-5 * SECOND, windows.get(0).getStartMillis());
+        Assert.assertEquals(1, windows.get(0).getCount(0));
+        Assert.assertEquals(0, windows.get(1).getStartMillis());
+        Assert.assertEquals(2, windows.get(1).getCount(0));
+        Assert.assertEquals(5 * SECOND, windows.get(2).getStartMillis());
+        Assert.assertEquals(1, windows.get(2).getCount(0));
+    }
+
+    @Test
+    public void testBackpressure() throws Exception {
+        //a slow subscriber with a tiny buffer still receives every window
+        TileWindowAggregator aggregator = new TileWindowAggregator(
+                OpenGeoTile.TileSize.REGION, SECOND, SECOND, ForkJoinPool.commonPool(), 1);
+        final List<TileWindow> windows = Collections.synchronizedList(new ArrayList<>());
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        aggregator.subscribe(new Flow.Subscriber<TileWindow>() {
+            Flow.Subscription mSubscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                mSubscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(TileWindow item) {
+                windows.add(item);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                mSubscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+
+        try (SubmissionPublisher<TileEvent> source = new SubmissionPublisher<>()) {
+            source.subscribe(aggregator);
+            for (int s = 0; s < 200; s++) {
+                source.submit(TileEvent.of(47.365, 8.525, s * SECOND, 1.0));
+            }
+        }
+        done.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(200, windows.size());
+    }
+
+    @Test
+    public void testTileTooBig() throws Exception {
+        List<TileEvent> events = new ArrayList<>();
+        events.add(TileEvent.of(new OpenGeoTile("8FVC"), 0, 1.0));
+        try {
+            aggregate(new TileWindowAggregator(OpenGeoTile.TileSize.DISTRICT, SECOND), events);
+            Assert.fail();
+        } catch (java.util.concurrent.ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    public void testSignalsAfterCancel() throws Exception {
+        TileWindowAggregator aggregator = new TileWindowAggregator(
+                OpenGeoTile.TileSize.DISTRICT, SECOND);
+        final List<TileWindow> windows = Collections.synchronizedList(new ArrayList<>());
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        aggregator.subscribe(new Flow.Subscriber<TileWindow>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(TileWindow item) {
+                windows.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                errors.add(throwable);
+                done.complete(null);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+
+        //an upstream that keeps sending after being cancelled
+        final boolean[] cancelled = {false};
+        aggregator.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+                cancelled[0] = true;
+            }
+        });
+        aggregator.onNext(TileEvent.of(47.365, 8.525, 0, 1.0));
+        aggregator.onNext(TileEvent.of(new OpenGeoTile("8FVC"), 0, 1.0));
+        Assert.assertTrue(cancelled[0]);
+        for (int s = 1; s < 5; s++) {
+            aggregator.onNext(TileEvent.of(47.365, 8.525, s * SECOND, 1.0));
+        }
+        aggregator.onComplete();
+        aggregator.onError(new IllegalStateException());
+
+        done.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(1, errors.size());
+        Assert.assertTrue(errors.get(0) instanceof IllegalArgumentException);
+        Assert.assertTrue(windows.isEmpty());
+    }
+}